@@ -22,6 +22,14 @@ public abstract class BaseGuideAdapter implements IGuideAdapter {
         mDataSetObservable.notifyChangedServiceList();
     }
 
+    /**
+     * Notifies the attached observers that the content of channels in range has been changed, their ids and
+     * positions are the same.
+     */
+    public void notifyChannelRangeChanged(final int channelStart, final int channelCount) {
+        mDataSetObservable.notifyChangedChannelRange(channelStart, channelCount);
+    }
+
     /**
      * Notifies the attached observers that the events underlying data has been changed
      * and any View reflecting the data set should refresh itself.
@@ -30,6 +38,14 @@ public abstract class BaseGuideAdapter implements IGuideAdapter {
         mDataSetObservable.notifyChangedEventList(channelIndex);
     }
 
+    /**
+     * Notifies the attached observers that the content of events in range has been changed, their ids and widths
+     * are the same.
+     */
+    public void notifyEventRangeChanged(final int channelIndex, final int eventStart, final int eventCount) {
+        mDataSetObservable.notifyChangedEventRange(channelIndex, eventStart, eventCount);
+    }
+
     /**
      * Notifies the attached observers that start or end time has changed.
      */
@@ -46,6 +62,46 @@ public abstract class BaseGuideAdapter implements IGuideAdapter {
         mDataSetObservable.notifyInvalidated();
     }
 
+    @Override
+    public GuideCellRenderer getEventCellRenderer() {
+        return null;
+    }
+
+    @Override
+    public int getEventViewType(int channel, int event) {
+        return 0;
+    }
+
+    @Override
+    public int getChannelIndicatorViewType(int channel) {
+        return 0;
+    }
+
+    @Override
+    public boolean hasCompatibleViews(IGuideAdapter adapter) {
+        return false;
+    }
+
+    @Override
+    public int getEventWidthBucket(int width) {
+        return 0;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return false;
+    }
+
+    @Override
+    public long getChannelId(int channel) {
+        return channel;
+    }
+
+    @Override
+    public long getEventId(int channel, int event) {
+        return event;
+    }
+
     @Override
     public boolean isEmpty(int channel) {
         return getEventsCount(channel) == 0;
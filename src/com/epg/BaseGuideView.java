@@ -1,6 +1,8 @@
 package com.epg;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
@@ -10,12 +12,17 @@ import android.graphics.Rect;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
 import android.util.AttributeSet;
+import android.util.LongSparseArray;
 import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.Choreographer;
 import android.view.GestureDetector;
 import android.view.KeyEvent;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.Animation;
 import android.view.animation.LinearInterpolator;
@@ -25,7 +32,9 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Date;
 import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Base guide view class contains guide scroll implementation, selections and layout helper methods.
@@ -34,9 +43,17 @@ import java.util.TimeZone;
  */
 public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     /**
-     * Defined time of refreshing time line indicator if guide is not refreshed for some time
+     * Time line indicator position is calculated in minutes, so it can change only on minute boundaries
      */
-    static final int TIMELINE_INDICATOR_REFRESH_INTERVAL = 30000;
+    static final long CLOCK_TICK_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    /**
+     * Interval between two time line labels in minutes
+     */
+    static final int TIME_LINE_LABEL_INTERVAL = 30;
+    /**
+     * Width of cached time line strip, in number of time line widths
+     */
+    static final int TIME_LINE_STRIP_SCREENS = 2;
     /**
      * How much expanded channel is larger than non expanded
      */
@@ -45,6 +62,19 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      * Default width of one minute in pixels
      */
     public static final int DEFAULT_ONE_MINUTE_WIDTH = 1;
+    /**
+     * Zoom levels as number of minutes visible in events area, from the most zoomed in level
+     */
+    public static final int[] ZOOM_LEVELS = { 60, 120, 180, 360 };
+    /**
+     * Pinch scale that changes zoom level by one
+     */
+    private static final float PINCH_ZOOM_STEP = 1.25f;
+    /**
+     * Default number of views that recycler keeps while application is under memory pressure or guide is hidden
+     */
+    public static final int DEFAULT_RECYCLED_EVENT_VIEWS_LIMIT = 40;
+    public static final int DEFAULT_RECYCLED_CHANNEL_INDICATOR_VIEWS_LIMIT = 5;
 
     /**
      * Types of layout pass
@@ -87,10 +117,18 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      */
     static final float DEFAULT_SELECTION_EVENT_POSITION = 0.2f;
     /**
-     * Start and end time of guide
+     * Start and end time of guide in minutes since epoch
+     */
+    private long mStartTimeMinutes = INVALID_TIME;
+    private long mEndTimeMinutes = INVALID_TIME;
+    /**
+     * Source of current time
      */
-    private Calendar mStartTime;
-    private Calendar mEndTime;
+    private GuideClock mClock = GuideClock.SYSTEM;
+    /**
+     * Reused for formatting time line labels
+     */
+    private final Date mTimeLineLabelDate = new Date();
     /**
      * Time line stuff
      */
@@ -122,6 +160,21 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      */
     protected String mTimeLineTextFormat = "hh:mm";
     private SimpleDateFormat mTimeLineFormater;
+    /**
+     * Time line labels formatted once per start time change. First label is mTimeLineLabelsOffsetMinutes away from
+     * start time, every next label is TIME_LINE_LABEL_INTERVAL minutes after previous one.
+     */
+    private String[] mTimeLineLabels;
+    private int mTimeLineLabelsOffsetMinutes;
+    /**
+     * Cached time line labels. Strip covers part of time line that starts at mTimeLineStripStart pixel and it is
+     * rendered again only when guide is scrolled out of it.
+     */
+    private Bitmap mTimeLineStrip;
+    private Canvas mTimeLineStripCanvas;
+    private Paint mTimeLineStripPaint;
+    private int mTimeLineStripStart;
+    private boolean mTimeLineStripValid = false;
 
     /**
      * Active scrolling state
@@ -166,10 +219,10 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     protected int mChannelRowHeightExpanded;
 
     /**
-     * Used to save old X offset of previously selected view. This is used when user scrolls UP/DOWN to know what
-     * view to select next.
+     * Time of previously selected view in minutes from start of guide. This is used when user scrolls UP/DOWN to
+     * select event that covers the same time, INVALID_POSITION to use time under fixed selection.
      */
-    int mTempSelectedViewOffset = INVALID_POSITION;
+    int mFocusedTime = INVALID_POSITION;
 
     /**
      * Width of one minute declared in pixels
@@ -219,9 +272,54 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      * use.
      */
     protected Recycler mRecycler;
+    /**
+     * Maximum number of recycled views kept after memory is trimmed
+     */
+    protected int mRecycledEventViewsLimit = DEFAULT_RECYCLED_EVENT_VIEWS_LIMIT;
+    protected int mRecycledChannelIndicatorViewsLimit = DEFAULT_RECYCLED_CHANNEL_INDICATOR_VIEWS_LIMIT;
+    private boolean mComponentCallbacksRegistered = false;
+    private boolean mAttachedToWindow = false;
+    /**
+     * Clock tick is scheduled only while guide is attached and visible
+     */
+    private boolean mClockTickScheduled = false;
+    /**
+     * Area covered by time line indicator before and after clock tick
+     */
+    private final Rect mClockDirtyRect = new Rect();
+    /**
+     * Creates views ahead of scroll direction in idle time of frame
+     */
+    GuidePrefetcher mPrefetcher;
+    protected boolean mPrefetchEnabled = true;
+    /**
+     * Children indexes in drawing order, channel indicators are drawn above events
+     */
+    private int[] mChildDrawingOrder = new int[0];
+    /**
+     * Containers of event views of visible channel rows, key is channel index
+     */
+    private final SparseArray<GuideRowLayout> mRowContainers = new SparseArray<GuideRowLayout>();
+    /**
+     * Cumulative event offsets of channels, used for binary search of events
+     */
+    private final GuideEventOffsets mEventOffsets = new GuideEventOffsets();
+    /**
+     * Incremented for every relayout of items, views laid out in current relayout are marked with it
+     */
+    private int mLayoutGeneration = 0;
+    private final ArrayDeque<GuideRowLayout> mRecycledRowContainers = new ArrayDeque<GuideRowLayout>();
+    /**
+     * Per frame performance metrics, disabled by default
+     */
+    final GuideMetrics mMetrics = new GuideMetrics();
+    /**
+     * Source of frame callbacks for smooth scroll and prefetch
+     */
+    GuideFrameScheduler mFrameScheduler = GuideFrameScheduler.CHOREOGRAPHER;
 
     /**
-     * Object for guide scrolling horizontally and vertically.
+     * Object for guide fling scrolling, smooth scroll is done by SmoothScrollAnimator
      */
     Scroller mScroll;
     /**
@@ -261,9 +359,9 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     };
 
     /**
-     * Runnable that smooth scrolls list
+     * Animator that smooth scrolls list
      */
-    SmoothScrollRunnable mSmoothScrollRunnable;
+    SmoothScrollAnimator mSmoothScrollAnimator;
 
     /**
      * View that is first touched by user (used for user click)
@@ -274,6 +372,33 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      * Objects that helps with gesture events
      */
     private GestureDetector mGestureDetector;
+    private ScaleGestureDetector mScaleGestureDetector;
+    /**
+     * Pinch scale accumulated since last zoom level change
+     */
+    private float mPinchScale = 1f;
+    private final ScaleGestureDetector.SimpleOnScaleGestureListener mScaleGestureListener =
+            new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+                @Override
+                public boolean onScaleBegin(ScaleGestureDetector detector) {
+                    mPinchScale = 1f;
+                    return isZoomAllowed();
+                }
+
+                @Override
+                public boolean onScale(ScaleGestureDetector detector) {
+                    mPinchScale *= detector.getScaleFactor();
+                    // Width of one minute is whole number of pixels, so pinch changes zoom level in steps
+                    if (mPinchScale >= PINCH_ZOOM_STEP) {
+                        zoomBy(true, (int) detector.getFocusX());
+                        mPinchScale = 1f;
+                    } else if (mPinchScale <= 1f / PINCH_ZOOM_STEP) {
+                        zoomBy(false, (int) detector.getFocusX());
+                        mPinchScale = 1f;
+                    }
+                    return true;
+                }
+            };
     private final GestureDetector.SimpleOnGestureListener mGestureListener = new GestureDetector.SimpleOnGestureListener() {
         public boolean onScroll(MotionEvent e1, MotionEvent e2,
                 float distanceX, float distanceY) {
@@ -293,10 +418,11 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         public boolean onDown(MotionEvent e) {
             // if touch down during fling animation - reset touched item so it
             // wouldn't be handled as item tap
-            mTouchedView = mScroll.computeScrollOffset() ? null
+            mTouchedView = mScroll.computeScrollOffset() || mSmoothScrollAnimator.isScrollRunning() ? null
                     : getViewAtCoordinates(e.getX(), e.getY());
 
             mScroll.forceFinished(true);
+            mSmoothScrollAnimator.forceFinished();
             postInvalidateOnAnimation();
             return true;
         }
@@ -323,14 +449,40 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
 
         @Override
         public void onChangedServiceList() {
+            if (mAdapter.hasStableIds()) {
+                remapViewsByStableIds();
+                return;
+            }
             refreshDataFromAdapter(false);
             unselectSeletedViewWithoutCallback();
             redrawItems();
         }
 
+        @Override
+        public void onChangedChannelRange(int channelStart, int channelCount) {
+            mRecycler.recyclePrefetchedViews();
+            if (mRecycler.rebindChannelIndicatorViews(channelStart, channelStart + channelCount)) {
+                requestLayout();
+            }
+            invalidate();
+        }
+
         @Override
         public void onChangedEventList(int channelIndex) {
-            log("GuideDataSetObserver onChangedEventList " + channelIndex);
+            GuideLog.log(GuideLog.EVENT_EVENT_LIST_CHANGED, channelIndex);
+            mEventOffsets.invalidate(channelIndex);
+            mRecycler.recyclePrefetchedViews(channelIndex);
+            if (mAdapter.hasStableIds()) {
+                // Keep views of events that still exist, only moved events are laid out again
+                mRecycler.remapEventViews(channelIndex, channelIndex);
+                // Kept views are bound again, event with the same id can have changed content
+                mRecycler.rebindEventViews(channelIndex, 0, mAdapter.getEventsCount(channelIndex));
+                onSelectedViewRemapped();
+                if (channelIndex >= mFirstItemPosition && channelIndex <= mLastItemPosition) {
+                    relayoutItems();
+                }
+                return;
+            }
             if (channelIndex == mSelectedItemPosition) {
                 unselectSeletedViewWithoutCallback();
             }
@@ -340,6 +492,18 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             }
         }
 
+        @Override
+        public void onChangedEventRange(int channelIndex, int eventStart, int eventCount) {
+            mRecycler.recyclePrefetchedViews(channelIndex);
+            if (channelIndex < mFirstItemPosition || channelIndex > mLastItemPosition) {
+                return;
+            }
+            if (mRecycler.rebindEventViews(channelIndex, eventStart, eventStart + eventCount)) {
+                requestLayout();
+            }
+            invalidate();
+        }
+
         @Override
         public void onChangedStartOrEndTime() {
             refreshDataFromAdapter(false);
@@ -349,12 +513,33 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     };
 
     /**
-     * Refresh drawing of time line
+     * Listener for system memory pressure, trims recycled views and caches
+     */
+    private final ComponentCallbacks2 mComponentCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            BaseGuideView.this.onTrimMemory(level);
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            BaseGuideView.this.onTrimMemory(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+        }
+    };
+
+    /**
+     * Clock that is executed on every minute boundary
      */
-    private final Runnable mRefreshTimeLineRunnable = new Runnable() {
+    private final Runnable mClockTickRunnable = new Runnable() {
         @Override
         public void run() {
-            BaseGuideView.this.invalidate();
+            mClockTickScheduled = false;
+            onClockTick();
+            scheduleClockTick();
         }
     };
 
@@ -407,6 +592,12 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 mSelectionType = SelectionType.fromValue(value);
                 mSelectionRelativePosition = a.getFloat(R.styleable.BaseGuideView_selectionFixedValue,
                         DEFAULT_SELECTION_EVENT_POSITION);
+                mRecycledEventViewsLimit = a.getInteger(R.styleable.BaseGuideView_recycledEventViewsLimit,
+                        DEFAULT_RECYCLED_EVENT_VIEWS_LIMIT);
+                mRecycledChannelIndicatorViewsLimit = a.getInteger(
+                        R.styleable.BaseGuideView_recycledChannelIndicatorViewsLimit,
+                        DEFAULT_RECYCLED_CHANNEL_INDICATOR_VIEWS_LIMIT);
+                mPrefetchEnabled = a.getBoolean(R.styleable.BaseGuideView_prefetchEnabled, true);
             } finally {
                 a.recycle();
             }
@@ -421,11 +612,15 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         }
         // Initialize gesture helper object
         mGestureDetector = new GestureDetector(getContext(), mGestureListener);
+        mScaleGestureDetector = new ScaleGestureDetector(getContext(), mScaleGestureListener);
         // Initialize scroller
         mScroll = new Scroller(context, new LinearInterpolator());
-        mSmoothScrollRunnable = new SmoothScrollRunnable();
+        mSmoothScrollAnimator = new SmoothScrollAnimator();
         // Initialize recycler
         mRecycler = new Recycler();
+        // Channel indicators are kept above events by drawing order, so children list is not reordered
+        setChildrenDrawingOrderEnabled(true);
+        mPrefetcher = new GuidePrefetcher(this);
         // Used for calculating child row height
         mChildRowHeightRect = new Rect();
         // Initialize guide view
@@ -438,6 +633,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         mTimeLinePaintText = new Paint(Paint.ANTI_ALIAS_FLAG);
         mTimeLinePaintText.setColor(Color.WHITE);
         mTimeLinePaintText.setTextSize(mTimeLineTextSize);
+        mTimeLineStripPaint = new Paint(mTimeLinePaintText);
         mTimeLinePaintLines = new Paint(Paint.ANTI_ALIAS_FLAG);
         mTimeLinePaintLines.setColor(Color.DKGRAY);
         mTimeLinePaintLines.setStyle(Paint.Style.STROKE);
@@ -451,7 +647,13 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             mAdapterRegistered = true;
             mAdapter.registerDataSetObserver(mDataSetObserver);
         }
+        if (!mComponentCallbacksRegistered) {
+            mComponentCallbacksRegistered = true;
+            getContext().getApplicationContext().registerComponentCallbacks(mComponentCallbacks);
+        }
         super.onAttachedToWindow();
+        mAttachedToWindow = true;
+        updateClockTick();
     }
 
     @Override
@@ -460,14 +662,138 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             mAdapterRegistered = false;
             mAdapter.unregisterDataSetObserver(mDataSetObserver);
         }
+        if (mComponentCallbacksRegistered) {
+            mComponentCallbacksRegistered = false;
+            getContext().getApplicationContext().unregisterComponentCallbacks(mComponentCallbacks);
+        }
+        mPrefetcher.cancel();
+        mSmoothScrollAnimator.cancel();
+        mAttachedToWindow = false;
+        updateClockTick();
         super.onDetachedFromWindow();
     }
 
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        // View constructor reports visibility set in layout before guide is initialized
+        if (mRecycler == null) {
+            return;
+        }
+        if (visibility != VISIBLE) {
+            trimMemoryOnHide();
+        }
+        updateClockTick();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        if (visibility != VISIBLE) {
+            trimMemoryOnHide();
+        }
+        updateClockTick();
+    }
+
+    /**
+     * Trim caches of hidden guide. View pool is trimmed only if none of guides that share it is visible.
+     */
+    private void trimMemoryOnHide() {
+        if (mRecycler.mPool.hasVisibleGuide()) {
+            trimMemory(GuideViewPool.NO_LIMIT, GuideViewPool.NO_LIMIT);
+        } else {
+            trimMemory(mRecycledEventViewsLimit, mRecycledChannelIndicatorViewsLimit);
+        }
+    }
+
+    /**
+     * @return TRUE if guide is attached to window and visible on screen
+     */
+    boolean isGuideVisible() {
+        return mAttachedToWindow && isShown() && getWindowVisibility() == VISIBLE;
+    }
+
+    /**
+     * Start clock if guide is attached and visible, stop it otherwise
+     */
+    private void updateClockTick() {
+        if (isGuideVisible()) {
+            scheduleClockTick();
+        } else {
+            removeCallbacks(mClockTickRunnable);
+            mClockTickScheduled = false;
+        }
+    }
+
+    /**
+     * Schedule clock tick on next minute boundary relative to start time of guide
+     */
+    private void scheduleClockTick() {
+        if (mClockTickScheduled || !mAttachedToWindow) {
+            return;
+        }
+        final long now = mClock.currentTimeMillis();
+        final long elapsed = mStartTimeMinutes == INVALID_TIME ? now
+                : now - TimeUnit.MINUTES.toMillis(mStartTimeMinutes);
+        final long delay = CLOCK_TICK_INTERVAL
+                - ((elapsed % CLOCK_TICK_INTERVAL) + CLOCK_TICK_INTERVAL) % CLOCK_TICK_INTERVAL;
+        mClockTickScheduled = true;
+        postDelayed(mClockTickRunnable, delay);
+    }
+
+    /**
+     * Called on every minute boundary while guide is visible. Redraws only area of time line indicator.
+     */
+    protected void onClockTick() {
+        if (!drawTimeLine || mTimeLineProgressIndicator == null || mStartTimeMinutes == INVALID_TIME
+                || mRectTimeLine == null) {
+            return;
+        }
+        mClockDirtyRect.set(mTimeLineProgressIndicatorRect);
+        calculateTimeLineIndicatorRect();
+        mClockDirtyRect.union(mTimeLineProgressIndicatorRect);
+        if (!mClockDirtyRect.isEmpty()) {
+            invalidate(mClockDirtyRect);
+        }
+    }
+
+    /**
+     * Called when system asks application to release memory. Recycled views are trimmed to configured limits, or
+     * dropped completely if memory is critically low. Views are created again lazily in next layout pass.
+     *
+     * @param level Memory trim level, one of ComponentCallbacks2.TRIM_MEMORY_* constants
+     */
+    protected void onTrimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            trimMemory(0, 0);
+        } else {
+            trimMemory(mRecycledEventViewsLimit, mRecycledChannelIndicatorViewsLimit);
+        }
+    }
+
+    /**
+     * Trim recycled views and guide caches. Subclasses that hold own caches should override this method and call
+     * super.
+     *
+     * @param maxRecycledEventViews            Maximum number of recycled event views to keep, or
+     *                                         {@link GuideViewPool#NO_LIMIT} if view pool is not trimmed
+     * @param maxRecycledChannelIndicatorViews Maximum number of recycled channel indicator views to keep
+     */
+    protected void trimMemory(int maxRecycledEventViews, int maxRecycledChannelIndicatorViews) {
+        mRecycler.trimToSize(maxRecycledEventViews, maxRecycledChannelIndicatorViews);
+        mRecycledRowContainers.clear();
+        releaseTimeLineStrip();
+    }
+
     @Override
     public boolean onTouchEvent(MotionEvent event) {
         // Workaround for SimpleOnGestureListener do not handle motion UP
         boolean detectedUp = event.getAction() == MotionEvent.ACTION_UP;
-        mGestureDetector.onTouchEvent(event);
+        mScaleGestureDetector.onTouchEvent(event);
+        // Fingers that pinch do not scroll guide
+        if (!mScaleGestureDetector.isInProgress()) {
+            mGestureDetector.onTouchEvent(event);
+        }
         if (detectedUp) {
             onUp(event);
         }
@@ -519,15 +845,164 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         invalidate();
     }
 
+    /**
+     * Replace adapter with adapter that has compatible views, for example adapter with refreshed data. Active views
+     * are rebound in place, recycled views are kept and scroll position is preserved. If adapters are not compatible
+     * this is the same as {@link #setAdapter(BaseGuideAdapter)}.
+     *
+     * @param adapter New adapter
+     */
+    public void swapAdapter(BaseGuideAdapter adapter) {
+        if (mAdapter == null || adapter == null || !adapter.hasCompatibleViews(mAdapter)) {
+            setAdapter(adapter);
+            return;
+        }
+        if (mAdapterRegistered) {
+            mAdapterRegistered = false;
+            mAdapter.unregisterDataSetObserver(mDataSetObserver);
+        }
+        mAdapter = adapter;
+        if (isShown()) {
+            mAdapter.registerDataSetObserver(mDataSetObserver);
+            mAdapterRegistered = true;
+        }
+        unselectSeletedViewWithoutCallback();
+        refreshDataFromAdapter(false);
+        // Keep scroll position inside bounds of new data
+        if (mCurrentOffsetY != INVALID_POSITION && getMeasuredHeight() > 0) {
+            mCurrentOffsetY = Math.max(getTopOffsetBounds(), Math.min(mCurrentOffsetY, getBottomOffsetBounds()));
+            mCurrentOffsetX = Math.max(0, Math.min(mCurrentOffsetX, getRightOffsetBounds()));
+        }
+        mRecycler.rebindActiveViews();
+        invalidateRowLayout(INVALID_POSITION);
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Move active views to new indexes of their channels and events after channel list is changed. Views of channels
+     * and events that no longer exist are recycled. Selected channel stays on the same place on screen.
+     */
+    private void remapViewsByStableIds() {
+        final int oldSelectedItemPosition = mSelectedItemPosition;
+        final View anchor = findItemAttachedToWindow(LAYOUT_TYPE_CHANNEL_INDICATOR, oldSelectedItemPosition,
+                INVALID_POSITION);
+        final long anchorChannelId = anchor == null ? INVALID_ID : ((LayoutParams) anchor.getLayoutParams()).mChannelId;
+        refreshDataFromAdapter(false);
+        final LongSparseArray<Integer> channelPositions = new LongSparseArray<Integer>();
+        for (int i = 0; i < mChannelsCount; i++) {
+            channelPositions.put(mAdapter.getChannelId(i), i);
+        }
+        mRecycler.recyclePrefetchedViews();
+        mRecycler.remapActiveViews(channelPositions);
+        rekeyRowContainers();
+        // Kept views are bound again, channel or event with the same id can have changed content
+        mRecycler.rebindActiveViews();
+        // Move scroll by number of channels inserted or removed above selected channel
+        final Integer newSelectedItemPosition = anchorChannelId == INVALID_ID ? null
+                : channelPositions.get(anchorChannelId);
+        if (newSelectedItemPosition != null && mCurrentOffsetY != INVALID_POSITION) {
+            final int delta = newSelectedItemPosition - oldSelectedItemPosition;
+            mCurrentOffsetY += delta * (mChannelRowHeight + mVerticalDividerHeight);
+            mSelectedItemPosition += delta;
+            mFirstItemPosition += delta;
+            mLastItemPosition += delta;
+            if (mExpandedItemIndex != INVALID_POSITION) {
+                mExpandedItemIndex += delta;
+            }
+        }
+        if (mCurrentOffsetY != INVALID_POSITION && getMeasuredHeight() > 0) {
+            mCurrentOffsetY = Math.max(getTopOffsetBounds(), Math.min(mCurrentOffsetY, getBottomOffsetBounds()));
+        }
+        onSelectedViewRemapped();
+        relayoutItems();
+    }
+
+    /**
+     * Update selected event position after views are remapped, or unselect view if it was recycled
+     */
+    private void onSelectedViewRemapped() {
+        if (mSelectedView == null) {
+            return;
+        }
+        final LayoutParams params = (LayoutParams) mSelectedView.getLayoutParams();
+        if (mSelectedView.getParent() == null || params.mChannelIndex != mSelectedItemPosition) {
+            unselectSeletedViewWithoutCallback();
+        } else {
+            mSelectedEventItemPosition = params.mEventIndex;
+        }
+    }
+
+    /**
+     * Put row containers under new channel indexes of their event views
+     */
+    private void rekeyRowContainers() {
+        final int count = mRowContainers.size();
+        if (count == 0) {
+            return;
+        }
+        final GuideRowLayout[] containers = new GuideRowLayout[count];
+        int i;
+        for (i = 0; i < count; i++) {
+            containers[i] = mRowContainers.valueAt(i);
+        }
+        mRowContainers.clear();
+        int channelIndex;
+        for (i = 0; i < count; i++) {
+            if (containers[i].getChildCount() > 0) {
+                channelIndex = ((LayoutParams) containers[i].getChildAt(0).getLayoutParams()).mChannelIndex;
+                containers[i].setChannelIndex(channelIndex);
+                mRowContainers.put(channelIndex, containers[i]);
+            }
+        }
+    }
+
+    /**
+     * Find current index of event with desired id
+     *
+     * @param hint Index where event is expected, it is checked first
+     * @return Index of event or INVALID_POSITION if channel no longer contains event
+     */
+    private int findEventIndexById(int channelIndex, long eventId, int hint) {
+        final int count = mAdapter.getEventsCount(channelIndex);
+        if (hint >= 0 && hint < count && mAdapter.getEventId(channelIndex, hint) == eventId) {
+            return hint;
+        }
+        for (int i = 0; i < count; i++) {
+            if (mAdapter.getEventId(channelIndex, i) == eventId) {
+                return i;
+            }
+        }
+        return INVALID_POSITION;
+    }
+
+    /**
+     * Remember ids of channel and event that view represents, if adapter has stable ids
+     */
+    private void setStableIds(LayoutParams params, int channelIndex, int eventIndex) {
+        if (mAdapter.hasStableIds()) {
+            params.mChannelId = mAdapter.getChannelId(channelIndex);
+            params.mEventId = eventIndex == INVALID_POSITION ? INVALID_ID : mAdapter.getEventId(channelIndex,
+                    eventIndex);
+        }
+    }
+
     /**
      * Get important values from adapter
      */
     private void refreshDataFromAdapter(boolean calculateYCoordinate) {
         mChannelsCount = mAdapter.getChannelsCount();
+        mEventOffsets.clear();
         // Calculate total grid width
-        mStartTime = mAdapter.getStartTime();
-        mEndTime = mAdapter.getEndTime();
-        mTotalWidth = mOneMinuteWidth * calculateDiffInMinutes(mEndTime, mStartTime);
+        final Calendar startTime = mAdapter.getStartTime();
+        mStartTimeMinutes = TimeUnit.MILLISECONDS.toMinutes(startTime.getTimeInMillis());
+        mEndTimeMinutes = TimeUnit.MILLISECONDS.toMinutes(mAdapter.getEndTime().getTimeInMillis());
+        mTotalWidth = mOneMinuteWidth * calculateDiffInMinutes(mEndTimeMinutes, mStartTimeMinutes);
+        refreshTimeLineLabels(startTime);
+        // Minute boundaries are relative to start time
+        removeCallbacks(mClockTickRunnable);
+        mClockTickScheduled = false;
+        updateClockTick();
 
         // We can not calculate total height if view is not finished its
         // layout pass.
@@ -578,13 +1053,15 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         super.onMeasure(widthMeasureSpec, heightMeasureSpec);
         final int viewWidth = getMeasuredWidth();
         final int viewHeight = getMeasuredHeight();
-        log("ONMEASURE viewWidth=" + viewWidth + ", viewHeight=" + viewHeight);
+        GuideLog.log(GuideLog.EVENT_MEASURE, viewWidth, viewHeight);
         //There is no need for change if dimension is the same
         if (mPreviousWidth == viewWidth && mPreviousHeight == viewHeight) {
             return;
         }
         mPreviousWidth = viewWidth;
         mPreviousHeight = viewHeight;
+        invalidateTimeLineCache();
+        invalidateRowLayout(INVALID_POSITION);
 
         // Calculate rect objects for three different areas
         mRectTimeLine = new Rect();
@@ -629,9 +1106,14 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         if (mCurrentOffsetY == INVALID_POSITION) {
             mCurrentOffsetY = getTopOffsetBounds();
         }
-        log("mChannelRowHeight=" + mChannelRowHeight + ", mChannelRowHeightExpanded=" + mChannelRowHeightExpanded + ", "
-                + "mRectEventsArea=" + mRectEventsArea.toString() + ", mRectSelectedRowArea=" + mRectSelectedRowArea
-                .toString());
+        GuideLog.log(GuideLog.EVENT_ROW_HEIGHTS, mChannelRowHeight, mChannelRowHeightExpanded,
+                mRectEventsArea.height());
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        super.draw(canvas);
+        mMetrics.onFrameDrawn();
     }
 
     @Override
@@ -639,13 +1121,17 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         super.dispatchDraw(canvas);
         canvas.clipRect(mRectChannelIndicators.right, 0, mRectTimeLine.right, mRectEventsArea.bottom);
         // Draws selector on top of Guide view
+        boolean traced = GuideTrace.begin(GuideTrace.DRAW_SELECTOR);
         drawSelector(canvas);
+        GuideTrace.end(traced);
         //Draw time line and time line indicator
         if (drawTimeLine) {
+            final long start = mMetrics.start();
+            traced = GuideTrace.begin(GuideTrace.DRAW_TIME_LINE);
             drawTimeLineIndicator(canvas);
             drawTimeLine(canvas);
-            removeCallbacks(mRefreshTimeLineRunnable);
-            postDelayed(mRefreshTimeLineRunnable, TIMELINE_INDICATOR_REFRESH_INTERVAL);
+            GuideTrace.end(traced);
+            mMetrics.stop(GuideMetrics.TIME_DRAW_TIME_LINE, start);
         } else {
             mTimeLineVisible = false;
         }
@@ -662,8 +1148,8 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             //Set selector rect to be above selected view
             mSelectorRect.left = mSelectedView.getLeft() - mHorizontalDividerWidth;
             mSelectorRect.right = mSelectedView.getRight() + mHorizontalDividerWidth;
-            mSelectorRect.top = mSelectedView.getTop() - mVerticalDividerHeight;
-            mSelectorRect.bottom = mSelectedView.getBottom() + mVerticalDividerHeight;
+            mSelectorRect.top = getTopInGuide(mSelectedView) - mVerticalDividerHeight;
+            mSelectorRect.bottom = getBottomInGuide(mSelectedView) + mVerticalDividerHeight;
             //If selector bitmap is not null we use bitmap as selector
             if (mSelectorBitmap != null) {
                 Rect src = null;
@@ -698,25 +1184,21 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      * Draw times on time line
      */
     private void drawTimeLine(Canvas canvas) {
-        if (mStartTime != null) {
-            Calendar calendar = (Calendar) mStartTime.clone();
-            if (calendar.get(Calendar.MINUTE) < 15) {
-                calendar.set(Calendar.MINUTE, 0);
-            } else if (calendar.get(Calendar.MINUTE) < 45) {
-                calendar.set(Calendar.MINUTE, 30);
-            } else {
-                calendar.add(Calendar.MINUTE, 60 - calendar.get(Calendar.MINUTE));
-            }
+        if (mTimeLineLabels != null) {
             canvas.drawLine(mTimeLineProgressIndicatorRect.right, mRectTimeLine.top, mRectTimeLine.right,
                     mRectTimeLine.top,
                     mTimeLinePaintLines);
-            int pixelOffset = calculateDiffInMinutes(calendar, mStartTime) *
-                    mOneMinuteWidth - mCurrentOffsetX;
-            String timeText;
+            final int labelWidth = TIME_LINE_LABEL_INTERVAL * mOneMinuteWidth;
+            final int labelsOffset = mTimeLineLabelsOffsetMinutes * mOneMinuteWidth;
             final int yOffsetLine = mRectTimeLine.height() / 7;
             final int yCoordinate = yOffsetLine * 2 + (int) mTimeLinePaintText.getTextSize();
+            // Labels are drawn one by one only if some of them must be skipped
+            final boolean drawLabels = mTimeLineRestrictedArea != null || !prepareTimeLineStrip();
+            // Start from first label that can be visible
+            int i = Math.max(0, (mCurrentOffsetX - labelsOffset) / labelWidth - 1);
+            int pixelOffset = labelsOffset + i * labelWidth - mCurrentOffsetX;
 
-            while (pixelOffset < mRectEventsArea.width()) {
+            while (pixelOffset < mRectEventsArea.width() && i < mTimeLineLabels.length) {
                 //Draw vertical time line
                 if (mTimeLineProgressIndicatorRect.right < mRectTimeLine.left + pixelOffset) {
                     canvas.drawLine(mRectTimeLine.left + pixelOffset, mRectTimeLine.top,
@@ -724,52 +1206,126 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                             yOffsetLine, mTimeLinePaintLines);
                 }
                 //Draw text
-                if (mTimeLineRestrictedArea == null || !mTimeLineRestrictedArea
+                if (drawLabels && (mTimeLineRestrictedArea == null || !mTimeLineRestrictedArea
                         .contains(mRectTimeLine.left + pixelOffset
-                                + yOffsetLine, yCoordinate)) {
-                    timeText = mTimeLineFormater.format(calendar.getTime());
-                    canvas.drawText(timeText, mRectTimeLine.left + pixelOffset + yOffsetLine, yCoordinate,
+                                + yOffsetLine, yCoordinate))) {
+                    canvas.drawText(mTimeLineLabels[i], mRectTimeLine.left + pixelOffset + yOffsetLine, yCoordinate,
                             mTimeLinePaintText);
                 }
-                calendar.add(Calendar.MINUTE, 30);
-                pixelOffset += 30 * mOneMinuteWidth;
+                i++;
+                pixelOffset += labelWidth;
+            }
+            //Draw cached labels translated by current scroll
+            if (!drawLabels) {
+                canvas.drawBitmap(mTimeLineStrip, mRectTimeLine.left + mTimeLineStripStart - mCurrentOffsetX,
+                        mRectTimeLine.top, mTimeLinePaintText);
             }
         }
     }
 
+    /**
+     * Format time line labels. This should be called only when start time is changed.
+     *
+     * @param startTime Start time from adapter, used only to get minute of hour in local time zone
+     */
+    private void refreshTimeLineLabels(Calendar startTime) {
+        final int minute = startTime.get(Calendar.MINUTE);
+        if (minute < 15) {
+            mTimeLineLabelsOffsetMinutes = -minute;
+        } else if (minute < 45) {
+            mTimeLineLabelsOffsetMinutes = 30 - minute;
+        } else {
+            mTimeLineLabelsOffsetMinutes = 60 - minute;
+        }
+        final int count = Math.max(0, (calculateDiffInMinutes(mEndTimeMinutes, mStartTimeMinutes)
+                - mTimeLineLabelsOffsetMinutes) / TIME_LINE_LABEL_INTERVAL) + 1;
+        mTimeLineLabels = new String[count];
+        long labelTimeMinutes = mStartTimeMinutes + mTimeLineLabelsOffsetMinutes;
+        for (int i = 0; i < count; i++) {
+            mTimeLineLabelDate.setTime(TimeUnit.MINUTES.toMillis(labelTimeMinutes));
+            mTimeLineLabels[i] = mTimeLineFormater.format(mTimeLineLabelDate);
+            labelTimeMinutes += TIME_LINE_LABEL_INTERVAL;
+        }
+        invalidateTimeLineCache();
+    }
+
+    /**
+     * Cached time line labels will be rendered again in next draw pass. Call this when labels or width of one
+     * minute is changed.
+     */
+    protected void invalidateTimeLineCache() {
+        mTimeLineStripValid = false;
+    }
+
+    /**
+     * Row will be laid out again in next layout pass even if it is only moved vertically. Called when event view of
+     * row is recycled.
+     *
+     * @param channelIndex Channel index of row, or INVALID_POSITION for all rows
+     */
+    protected void invalidateRowLayout(int channelIndex) {
+    }
+
+    /**
+     * Make sure that cached time line strip covers currently visible part of time line.
+     *
+     * @return TRUE if cached strip can be drawn, FALSE otherwise
+     */
+    private boolean prepareTimeLineStrip() {
+        final int visibleWidth = mRectTimeLine.width();
+        final int stripWidth = visibleWidth * TIME_LINE_STRIP_SCREENS;
+        final int stripHeight = mRectTimeLine.height();
+        if (stripWidth <= 0 || stripHeight <= 0) {
+            return false;
+        }
+        if (mTimeLineStrip == null || mTimeLineStrip.getWidth() != stripWidth
+                || mTimeLineStrip.getHeight() != stripHeight) {
+            releaseTimeLineStrip();
+            // Only alpha is kept, bitmap is drawn with color of time line text paint
+            mTimeLineStrip = Bitmap.createBitmap(stripWidth, stripHeight, Bitmap.Config.ALPHA_8);
+            mTimeLineStripCanvas = new Canvas(mTimeLineStrip);
+        } else if (mTimeLineStripValid && mCurrentOffsetX >= mTimeLineStripStart
+                && mCurrentOffsetX + visibleWidth <= mTimeLineStripStart + stripWidth) {
+            return true;
+        } else {
+            mTimeLineStrip.eraseColor(Color.TRANSPARENT);
+        }
+        // Render labels so current scroll is in the middle of the strip
+        mTimeLineStripStart = Math.max(0, mCurrentOffsetX - (stripWidth - visibleWidth) / 2);
+        final int labelWidth = TIME_LINE_LABEL_INTERVAL * mOneMinuteWidth;
+        final int labelsOffset = mTimeLineLabelsOffsetMinutes * mOneMinuteWidth;
+        final int yOffsetLine = mRectTimeLine.height() / 7;
+        final int yCoordinate = yOffsetLine * 2 + (int) mTimeLinePaintText.getTextSize() - mRectTimeLine.top;
+        int i = Math.max(0, (mTimeLineStripStart - labelsOffset) / labelWidth - 1);
+        int pixelOffset = labelsOffset + i * labelWidth - mTimeLineStripStart;
+        while (pixelOffset < stripWidth && i < mTimeLineLabels.length) {
+            mTimeLineStripCanvas.drawText(mTimeLineLabels[i], pixelOffset + yOffsetLine, yCoordinate,
+                    mTimeLineStripPaint);
+            i++;
+            pixelOffset += labelWidth;
+        }
+        mTimeLineStripValid = true;
+        return true;
+    }
+
+    /**
+     * Release cached time line strip, it will be created again when needed
+     */
+    private void releaseTimeLineStrip() {
+        if (mTimeLineStrip != null) {
+            mTimeLineStrip.recycle();
+            mTimeLineStrip = null;
+            mTimeLineStripCanvas = null;
+        }
+        mTimeLineStripValid = false;
+    }
+
     /**
      * Draw time line indicator over the guide content
      */
     private void drawTimeLineIndicator(Canvas canvas) {
-        if (mTimeLineProgressIndicator != null && mStartTime != null) {
-            int pixelOffset;
-            if (mTimeLineSpecificOffset == INVALID_POSITION) {
-                Calendar calendar = Calendar.getInstance();
-                pixelOffset = calculateDiffInMinutes(calendar, mStartTime) *
-                        mOneMinuteWidth - mCurrentOffsetX;
-            } else {
-                pixelOffset = mTimeLineSpecificOffset;
-            }
-
-            mTimeLineProgressIndicatorRect.right = mRectTimeLine.left + pixelOffset;
-            mTimeLineProgressIndicatorRect.left = mRectTimeLine.left;
-            switch (mTimeLineDrawType) {
-            case DRAW_OVER_EVENTS: {
-                mTimeLineProgressIndicatorRect.top = mRectEventsArea.top;
-                mTimeLineProgressIndicatorRect.bottom = mRectEventsArea.bottom;
-                break;
-            }
-            case DRAW_OVER_GUIDE: {
-                mTimeLineProgressIndicatorRect.top = mRectTimeLine.top;
-                mTimeLineProgressIndicatorRect.bottom = mRectEventsArea.bottom;
-                break;
-            }
-            case DRAW_OVER_TIME_LINE: {
-                mTimeLineProgressIndicatorRect.top = mRectTimeLine.top;
-                mTimeLineProgressIndicatorRect.bottom = mRectTimeLine.bottom - mVerticalDividerHeight;
-                break;
-            }
-            }
+        if (mTimeLineProgressIndicator != null && mStartTimeMinutes != INVALID_TIME) {
+            calculateTimeLineIndicatorRect();
             //Draw time line indicator only if it is visible
             if (canvas.getClipBounds().intersect(mTimeLineProgressIndicatorRect)) {
                 mTimeLineProgressIndicator.setBounds(mTimeLineProgressIndicatorRect);
@@ -781,6 +1337,38 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         }
     }
 
+    /**
+     * Calculate position of time line indicator for current time
+     */
+    private void calculateTimeLineIndicatorRect() {
+        int pixelOffset;
+        if (mTimeLineSpecificOffset == INVALID_POSITION) {
+            pixelOffset = calculateNowOffset() - mCurrentOffsetX;
+        } else {
+            pixelOffset = mTimeLineSpecificOffset;
+        }
+
+        mTimeLineProgressIndicatorRect.right = mRectTimeLine.left + pixelOffset;
+        mTimeLineProgressIndicatorRect.left = mRectTimeLine.left;
+        switch (mTimeLineDrawType) {
+        case DRAW_OVER_EVENTS: {
+            mTimeLineProgressIndicatorRect.top = mRectEventsArea.top;
+            mTimeLineProgressIndicatorRect.bottom = mRectEventsArea.bottom;
+            break;
+        }
+        case DRAW_OVER_GUIDE: {
+            mTimeLineProgressIndicatorRect.top = mRectTimeLine.top;
+            mTimeLineProgressIndicatorRect.bottom = mRectEventsArea.bottom;
+            break;
+        }
+        case DRAW_OVER_TIME_LINE: {
+            mTimeLineProgressIndicatorRect.top = mRectTimeLine.top;
+            mTimeLineProgressIndicatorRect.bottom = mRectTimeLine.bottom - mVerticalDividerHeight;
+            break;
+        }
+        }
+    }
+
     @Override
     public void requestLayout() {
         if (!mBlockLayoutRequests && !mInLayout) {
@@ -790,7 +1378,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
-        log("ONLAYOUT changed=" + changed);
+        GuideLog.log(GuideLog.EVENT_LAYOUT, changed ? 1 : 0);
         mInLayout = true;
         // Layout children only if guide view changed its bounds
         if (changed) {
@@ -812,14 +1400,23 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             return;
         }
         mBlockLayoutRequests = true;
+        final boolean traced = GuideTrace.begin(GuideTrace.LAYOUT_CHILDREN);
         try {
             if (mAdapter != null) {
-                //log("layoutChildren CURRENT OFFSET Y" + mCurrentOffsetY);
+                long start = mMetrics.start();
+                final boolean tracedRows = GuideTrace.begin(GuideTrace.CALCULATE_ROW_POSITIONS);
                 calculateRowPositions();
+                GuideTrace.end(tracedRows);
+                mMetrics.stop(GuideMetrics.TIME_CALCULATE_ROW_POSITIONS, start);
+                start = mMetrics.start();
                 layoutEvents();
+                mMetrics.stop(GuideMetrics.TIME_LAYOUT_EVENTS, start);
+                start = mMetrics.start();
                 layoutChannelIndicators();
+                mMetrics.stop(GuideMetrics.TIME_LAYOUT_CHANNEL_INDICATORS, start);
             }
         } finally {
+            GuideTrace.end(traced);
             if (!blockLayoutRequests) {
                 mBlockLayoutRequests = false;
             }
@@ -836,14 +1433,23 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             return;
         }
         mBlockLayoutRequests = true;
+        final boolean traced = GuideTrace.begin(GuideTrace.LAYOUT_CHILDREN);
         try {
             if (mAdapter != null) {
-                //log("layoutChildren CURRENT OFFSET Y" + mCurrentOffsetY);
+                long start = mMetrics.start();
+                final boolean tracedRows = GuideTrace.begin(GuideTrace.CALCULATE_ROW_POSITIONS);
                 calculateRowPositions();
+                GuideTrace.end(tracedRows);
+                mMetrics.stop(GuideMetrics.TIME_CALCULATE_ROW_POSITIONS, start);
+                start = mMetrics.start();
                 layoutEvents(channelIndex);
+                mMetrics.stop(GuideMetrics.TIME_LAYOUT_EVENTS, start);
+                start = mMetrics.start();
                 layoutChannelIndicators();
+                mMetrics.stop(GuideMetrics.TIME_LAYOUT_CHANNEL_INDICATORS, start);
             }
         } finally {
+            GuideTrace.end(traced);
             if (!blockLayoutRequests) {
                 mBlockLayoutRequests = false;
             }
@@ -890,6 +1496,25 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         invalidate();
     }
 
+    /**
+     * Reposition items without rebinding them, for example after guide size or mode is changed. Active views are
+     * reused for the same channel and event, only views that are not part of new layout are recycled.
+     */
+    public void relayoutItems() {
+        mLayoutGeneration++;
+        invalidateRowLayout(INVALID_POSITION);
+        layoutChildren();
+        mRecycler.recycleViewsNotLaidOut(mLayoutGeneration);
+        invalidate();
+    }
+
+    /**
+     * Mark view as part of current layout, views that are not marked are recycled by {@link #relayoutItems()}
+     */
+    void markViewLaidOut(View view) {
+        ((LayoutParams) view.getLayoutParams()).mLayoutGeneration = mLayoutGeneration;
+    }
+
     /**
      * Reposition and redraw items. You may want to call this method after the
      * data provider changes.
@@ -1031,32 +1656,66 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      */
     protected FirstPositionInfo getPositionAndOffsetForScrollValue(int scroll,
             int channel) {
-        int sum = 0;
-        final int count = mAdapter.getEventsCount(channel);
-        int width = 0;
-        for (int i = 0; i < count; i++) {
-            width = mAdapter.getEventWidth(channel, i) * mOneMinuteWidth;
-            sum += width;
-            if (sum > scroll) {
-                return new FirstPositionInfo(i, width - (sum - scroll));
-            }
+        final int eventIndex = mEventOffsets.findEvent(mAdapter, channel, Math.max(0, scroll / mOneMinuteWidth));
+        if (eventIndex == INVALID_POSITION) {
+            return new FirstPositionInfo(-1, -1);
         }
-        return new FirstPositionInfo(-1, -1);
+        return new FirstPositionInfo(eventIndex,
+                scroll - mEventOffsets.getEventStart(mAdapter, channel, eventIndex) * mOneMinuteWidth);
     }
 
     /**
-     * Get offset from beginning for desired event. This method is used when calculating final offset in pixels for
-     * running event.
+     * Calculate width of view that represents desired event.
      *
-     * @param channel       Channel index
-     * @param eventPosition Running event position
-     * @return Calculated offset from beginning
+     * @param channelIndex Channel index
+     * @param eventIndex   Event index
+     * @return Calculated width of view.
+     */
+    protected int calculateEventWidth(int channelIndex, int eventIndex) {
+        return calculateEventWidth(channelIndex, eventIndex, mOneMinuteWidth);
+    }
+
+    /**
+     * @param oneMinuteWidth Width of one minute in pixels
+     * @return Width of view that represents desired event with desired width of one minute
+     */
+    private int calculateEventWidth(int channelIndex, int eventIndex, int oneMinuteWidth) {
+        return mAdapter.getEventWidth(channelIndex, eventIndex) * oneMinuteWidth
+                - (eventIndex == 0 ? 0 : mHorizontalDividerWidth);
+    }
+
+    /**
+     * @param x X coordinate in guide
+     * @return Time under desired coordinate in minutes from start of guide
+     */
+    int calculateTimeAtX(int x) {
+        return GuideNavigation.getTimeAtX(x, mRectEventsArea.left, mCurrentOffsetX, mOneMinuteWidth);
+    }
+
+    /**
+     * Find event that covers focused time, or time under fixed selection if there is no focused time. Event is found
+     * from adapter data, so row does not have to be laid out.
+     *
+     * @param channel Channel index
+     * @return Index of event, first or last event if time is outside of channel events, or INVALID_POSITION if
+     * channel has no events
+     */
+    protected int findEventAtFocusedTime(int channel) {
+        final int time = mFocusedTime != INVALID_POSITION ? mFocusedTime
+                : calculateTimeAtX(mSelectionAbsolutePosition);
+        return GuideNavigation.findEventAtFocusedTime(mEventOffsets.get(mAdapter, channel), time);
+    }
+
+    /**
+     * Get offset from beginning for desired event. This method is used when calculating final offset in pixels for
+     * running event.
+     *
+     * @param channel       Channel index
+     * @param eventPosition Running event position
+     * @return Calculated offset from beginning
      */
     protected int getOffsetForSelectedEventFromBeginning(int channel, int eventPosition) {
-        int sum = 0;
-        for (int i = 0; i < eventPosition; i++) {
-            sum += mAdapter.getEventWidth(channel, i) * mOneMinuteWidth;
-        }
+        int sum = mEventOffsets.getEventStart(mAdapter, channel, eventPosition) * mOneMinuteWidth;
         sum += (eventPosition == 0 ? 0 : mHorizontalDividerWidth);
         sum -= mCurrentOffsetX;
         return sum;
@@ -1081,8 +1740,85 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             params.mCurrentResizePercentValue = currentRowExpandedPercent;
         }
         measureEventItemView(viewToResize, width, newHeight);
-        viewToResize.layout(currentX, currentY,
-                currentX + width, currentY + newHeight);
+        if (params.mEventIndex != INVALID_POSITION) {
+            layoutEventView(viewToResize, params.mChannelIndex, currentX, currentY, width, newHeight);
+        } else {
+            viewToResize.layout(currentX, currentY,
+                    currentX + width, currentY + newHeight);
+        }
+    }
+
+    /**
+     * Get container of channel row. Container is created if it does not exist, and moved or resized if it does not
+     * cover desired row bounds.
+     *
+     * @param channelIndex Channel index of row
+     * @param top          Top of row relative to guide
+     * @param height       Height of row
+     * @return Container of row
+     */
+    private GuideRowLayout obtainRowContainer(int channelIndex, int top, int height) {
+        GuideRowLayout container = mRowContainers.get(channelIndex);
+        if (container == null) {
+            container = mRecycledRowContainers.poll();
+            if (container == null) {
+                container = new GuideRowLayout(getContext());
+            }
+            container.setChannelIndex(channelIndex);
+            mRowContainers.put(channelIndex, container);
+            addViewInLayout(container, -1, new LayoutParams(LayoutParams.MATCH_PARENT, height), true);
+        }
+        if (container.getTop() != top || container.getHeight() != height || container.getWidth() != getWidth()
+                || container.isLayoutRequested()) {
+            container.measure(MeasureSpec.makeMeasureSpec(getWidth(), MeasureSpec.EXACTLY),
+                    MeasureSpec.makeMeasureSpec(height, MeasureSpec.EXACTLY));
+            container.layout(0, top, getWidth(), top + height);
+        }
+        return container;
+    }
+
+    /**
+     * Position event view inside container of its row
+     *
+     * @param view         Event view
+     * @param channelIndex Channel index of event
+     * @param left         Left of view relative to guide
+     * @param top          Top of view relative to guide
+     * @param width        Width of view
+     * @param height       Height of view
+     */
+    private void layoutEventView(View view, int channelIndex, int left, int top, int width, int height) {
+        final GuideRowLayout container = obtainRowContainer(channelIndex, top, height);
+        final int topInContainer = top - container.getTop();
+        view.layout(left, topInContainer, left + width, topInContainer + height);
+    }
+
+    /**
+     * Remove event view from its row container. Container without event views is removed from layout.
+     */
+    void removeEventViewInLayout(View view) {
+        final ViewParent parent = view.getParent();
+        if (parent instanceof GuideRowLayout) {
+            final GuideRowLayout container = (GuideRowLayout) parent;
+            container.removeEventView(view);
+            if (container.getChildCount() == 0) {
+                mRowContainers.remove(container.getChannelIndex());
+                removeViewInLayout(container);
+                mRecycledRowContainers.offer(container);
+            }
+        }
+    }
+
+    /**
+     * Move child view vertically. Event views are moved together with their row container.
+     */
+    void offsetChildTopAndBottom(View view, int offset) {
+        final ViewParent parent = view.getParent();
+        if (parent instanceof GuideRowLayout) {
+            ((GuideRowLayout) parent).offsetTopAndBottom(offset);
+        } else {
+            view.offsetTopAndBottom(offset);
+        }
     }
 
     /**
@@ -1105,14 +1841,15 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         switch (layoutType) {
         case LAYOUT_TYPE_EVENTS: {
             mRecycler.addEventView(child);
-            addViewToLayout(child, width, height, channelIndex, eventIndex);
+            addViewToLayout(obtainRowContainer(channelIndex, top, height), child, width, height, channelIndex,
+                    eventIndex);
             measureEventItemView(child, width, height);
-            child.layout(left, top, left + width, top + height);
+            layoutEventView(child, channelIndex, left, top, width, height);
             break;
         }
         case LAYOUT_TYPE_CHANNEL_INDICATOR: {
             mRecycler.addChannelIndicatorView(child);
-            addViewToLayout(child, width, height, channelIndex,
+            addViewToLayout(null, child, width, height, channelIndex,
                     INVALID_POSITION);
             measureEventItemView(child, width, height);
             child.layout(left, top, left + width, top + height);
@@ -1141,13 +1878,14 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     /**
      * Adds created view to layout to be drawn
      *
+     * @param container    Row container for event views, or NULL if view is added directly to guide
      * @param view         View to add
      * @param width        Desired width of view
      * @param height       Desired height of view
      * @param channelIndex Channel index of view that is represent
      * @param eventIndex   Index of event this view represents
      */
-    private void addViewToLayout(final View view, int width, int height,
+    private void addViewToLayout(GuideRowLayout container, final View view, int width, int height,
             int channelIndex, int eventIndex) {
         LayoutParams params = (LayoutParams) view.getLayoutParams();
         if (params == null) {
@@ -1160,7 +1898,201 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         }
         params.mChannelIndex = channelIndex;
         params.mEventIndex = eventIndex;
-        addViewInLayout(view, -1, params, true);
+        setStableIds(params, channelIndex, eventIndex);
+        if (container != null) {
+            container.addEventView(view, params);
+        } else {
+            addViewInLayout(view, -1, params, true);
+        }
+    }
+
+    @Override
+    protected int getChildDrawingOrder(int childCount, int i) {
+        // Order is calculated once per drawing pass
+        if (i == 0 || mChildDrawingOrder.length < childCount) {
+            calculateChildDrawingOrder(childCount);
+        }
+        return mChildDrawingOrder[i];
+    }
+
+    /**
+     * Put indexes of event views first and indexes of channel indicators after them
+     */
+    private void calculateChildDrawingOrder(int childCount) {
+        if (mChildDrawingOrder.length < childCount) {
+            mChildDrawingOrder = new int[childCount + childCount / 2];
+        }
+        int index = 0;
+        int i;
+        for (i = 0; i < childCount; i++) {
+            if (!isChannelIndicatorView(getChildAt(i))) {
+                mChildDrawingOrder[index++] = i;
+            }
+        }
+        for (i = 0; i < childCount; i++) {
+            if (isChannelIndicatorView(getChildAt(i))) {
+                mChildDrawingOrder[index++] = i;
+            }
+        }
+    }
+
+    /**
+     * Direct children of guide are channel indicators and row containers of event views
+     */
+    private boolean isChannelIndicatorView(View child) {
+        return !(child instanceof GuideRowLayout);
+    }
+
+    /**
+     * Create and bind views that will be visible after scroll in desired direction is continued. Called after
+     * frame is drawn, implementation should stop as soon as prefetch methods return FALSE.
+     *
+     * @param directionX Horizontal scroll direction, -1, 0 or 1
+     * @param directionY Vertical scroll direction, -1, 0 or 1
+     * @param deadlineNs Frame scheduler time until prefetch is allowed to run
+     */
+    protected void prefetch(int directionX, int directionY, long deadlineNs) {
+    }
+
+    /**
+     * Create and bind event view ahead of time and keep it in recycler until it is laid out.
+     *
+     * @param channelIndex Channel index of view
+     * @param eventIndex   Event index of view
+     * @param width        Width of view
+     * @param height       Height of view
+     * @param deadlineNs   Frame scheduler time until prefetch is allowed to run
+     * @return FALSE if there is no more time left in this frame, TRUE otherwise
+     */
+    protected boolean prefetchEventView(int channelIndex, int eventIndex, int width, int height,
+            long deadlineNs) {
+        if (mRecycler.isEventViewPrefetched(channelIndex, eventIndex)
+                || findItemAttachedToWindow(LAYOUT_TYPE_EVENTS, channelIndex, eventIndex) != null) {
+            return true;
+        }
+        if (!mPrefetcher.hasTimeLeft(deadlineNs)) {
+            return false;
+        }
+        final long start = mFrameScheduler.nanoTime();
+        final View view = bindEventView(channelIndex, eventIndex);
+        preparePrefetchedView(view, width, height, channelIndex, eventIndex);
+        mRecycler.addPrefetchedEventView(view);
+        mPrefetcher.onViewBound(mFrameScheduler.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Create and bind channel indicator view ahead of time and keep it in recycler until it is laid out.
+     *
+     * @param channelIndex Channel index of view
+     * @param width        Width of view
+     * @param height       Height of view
+     * @param deadlineNs   Frame scheduler time until prefetch is allowed to run
+     * @return FALSE if there is no more time left in this frame, TRUE otherwise
+     */
+    protected boolean prefetchChannelIndicatorView(int channelIndex, int width, int height, long deadlineNs) {
+        if (mRecycler.isChannelIndicatorViewPrefetched(channelIndex)
+                || findItemAttachedToWindow(LAYOUT_TYPE_CHANNEL_INDICATOR, channelIndex, INVALID_POSITION) != null) {
+            return true;
+        }
+        if (!mPrefetcher.hasTimeLeft(deadlineNs)) {
+            return false;
+        }
+        final long start = mFrameScheduler.nanoTime();
+        final View view = bindChannelIndicatorView(channelIndex);
+        preparePrefetchedView(view, width, height, channelIndex, INVALID_POSITION);
+        mRecycler.addPrefetchedChannelIndicatorView(view);
+        mPrefetcher.onViewBound(mFrameScheduler.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Get event view from adapter, recycled view of the same view type is passed as convert view
+     *
+     * @param channelIndex Channel index of event
+     * @param eventIndex   Event index
+     * @return Bound view
+     */
+    View bindEventView(int channelIndex, int eventIndex) {
+        return bindEventView(channelIndex, eventIndex, null);
+    }
+
+    /**
+     * @param activeView View that is rebound in place if it has the same view type, can be NULL
+     */
+    private View bindEventView(int channelIndex, int eventIndex, View activeView) {
+        final int viewType = mAdapter.getEventViewType(channelIndex, eventIndex);
+        final View convertView = activeView != null
+                && ((LayoutParams) activeView.getLayoutParams()).mViewType == viewType
+                ? activeView : mRecycler.getEventView(viewType);
+        final long start = mMetrics.start();
+        final boolean traced = GuideTrace.begin(GuideTrace.BIND_EVENT_VIEW);
+        final View view = mAdapter.getEventView(channelIndex, eventIndex, convertView, this);
+        GuideTrace.end(traced);
+        mMetrics.stop(GuideMetrics.TIME_ADAPTER_GET_VIEW, start);
+        mMetrics.count(view == convertView ? GuideMetrics.COUNT_VIEWS_REBOUND : GuideMetrics.COUNT_VIEWS_CREATED);
+        setViewType(view, viewType);
+        return view;
+    }
+
+    /**
+     * Get channel indicator view from adapter, recycled view of the same view type is passed as convert view
+     *
+     * @param channelIndex Channel index
+     * @return Bound view
+     */
+    View bindChannelIndicatorView(int channelIndex) {
+        return bindChannelIndicatorView(channelIndex, null);
+    }
+
+    /**
+     * @param activeView View that is rebound in place if it has the same view type, can be NULL
+     */
+    private View bindChannelIndicatorView(int channelIndex, View activeView) {
+        final int viewType = mAdapter.getChannelIndicatorViewType(channelIndex);
+        final View convertView = activeView != null
+                && ((LayoutParams) activeView.getLayoutParams()).mViewType == viewType
+                ? activeView : mRecycler.getChannelIndicatorView(viewType);
+        final long start = mMetrics.start();
+        final boolean traced = GuideTrace.begin(GuideTrace.BIND_CHANNEL_INDICATOR_VIEW);
+        final View view = mAdapter.getChannelIndicatorView(channelIndex, convertView, this);
+        GuideTrace.end(traced);
+        mMetrics.stop(GuideMetrics.TIME_ADAPTER_GET_VIEW, start);
+        mMetrics.count(view == convertView ? GuideMetrics.COUNT_VIEWS_REBOUND : GuideMetrics.COUNT_VIEWS_CREATED);
+        setViewType(view, viewType);
+        return view;
+    }
+
+    /**
+     * Remember view type of bound view so it is recycled into the right bucket of view pool. Layout params are
+     * created if adapter did not set them, their size is set when view is laid out.
+     */
+    private void setViewType(View view, int viewType) {
+        LayoutParams params = (LayoutParams) view.getLayoutParams();
+        if (params == null) {
+            params = (LayoutParams) generateDefaultLayoutParams();
+            view.setLayoutParams(params);
+        }
+        params.mViewType = viewType;
+    }
+
+    /**
+     * Set layout params to prefetched view, measure and layout it so it is ready to be added to layout.
+     */
+    private void preparePrefetchedView(final View view, int width, int height, int channelIndex, int eventIndex) {
+        LayoutParams params = (LayoutParams) view.getLayoutParams();
+        if (params == null) {
+            params = new LayoutParams(width, height);
+            view.setLayoutParams(params);
+        } else {
+            params.width = width;
+            params.height = height;
+        }
+        params.mChannelIndex = channelIndex;
+        params.mEventIndex = eventIndex;
+        setStableIds(params, channelIndex, eventIndex);
+        measureEventItemView(view, width, height);
+        view.layout(0, 0, width, height);
     }
 
     /**
@@ -1177,15 +2109,90 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 || mRectChannelIndicators.contains((int) touchX, (int) touchY)) {
             return null;
         }
+        // Resolve row and event from layout data, touched event may not have view yet
+        final int channelIndex = findChannelIndexAtY((int) touchY);
+        if (channelIndex != INVALID_POSITION) {
+            final int eventIndex = findEventIndexAtX(channelIndex, (int) touchX);
+            if (eventIndex != INVALID_POSITION) {
+                final View view = findEventViewInRow(channelIndex, eventIndex);
+                return view != null ? view : obtainEventViewAtCoordinates((int) touchX, (int) touchY);
+            }
+        }
+        // Layout data is not available, for example during transition
         for (View view : mRecycler.mActiveEventsViews) {
             if (touchX > view.getLeft() && touchX < view.getRight()
-                    && view.getTop() < touchY && view.getBottom() > touchY) {
+                    && getTopInGuide(view) < touchY && getBottomInGuide(view) > touchY) {
                 return view;
             }
         }
+        return obtainEventViewAtCoordinates((int) touchX, (int) touchY);
+    }
+
+    /**
+     * Find channel row at desired Y coordinate.
+     *
+     * @param y Y coordinate in guide
+     * @return Channel index or INVALID_POSITION if there is no row at coordinate or rows are unknown
+     */
+    protected int findChannelIndexAtY(int y) {
+        return INVALID_POSITION;
+    }
+
+    /**
+     * Find event of channel at desired X coordinate with binary search on cumulative event offsets.
+     *
+     * @param channelIndex Channel index
+     * @param x            X coordinate in guide
+     * @return Event index or INVALID_POSITION if there is no event at coordinate
+     */
+    protected int findEventIndexAtX(int channelIndex, int x) {
+        if (x < mRectEventsArea.left || x >= mRectEventsArea.right) {
+            return INVALID_POSITION;
+        }
+        final int scroll = x - mRectEventsArea.left + mCurrentOffsetX;
+        if (scroll < 0) {
+            return INVALID_POSITION;
+        }
+        return mEventOffsets.findEvent(mAdapter, channelIndex, scroll / mOneMinuteWidth);
+    }
+
+    /**
+     * @return Active view of desired event from its row container or null if event is not bound
+     */
+    private View findEventViewInRow(int channelIndex, int eventIndex) {
+        final GuideRowLayout container = mRowContainers.get(channelIndex);
+        if (container == null) {
+            return null;
+        }
+        View child;
+        for (int i = container.getChildCount() - 1; i >= 0; i--) {
+            child = container.getChildAt(i);
+            if (((LayoutParams) child.getLayoutParams()).mEventIndex == eventIndex) {
+                return child;
+            }
+        }
         return null;
     }
 
+    /**
+     * Called when there is no event view at desired coordinates. Implementations that draw events without views
+     * should create view for event at desired coordinates.
+     *
+     * @param touchX X coordinate of touch.
+     * @param touchY Y coordinate of touch.
+     * @return Created view or null if there is no event at coordinates.
+     */
+    protected View obtainEventViewAtCoordinates(int touchX, int touchY) {
+        return null;
+    }
+
+    /**
+     * @return TRUE if neither fling nor smooth scroll is running
+     */
+    boolean isScrollFinished() {
+        return mScroll.isFinished() && !mSmoothScrollAnimator.isScrollRunning();
+    }
+
     @Override
     public void computeScroll() {
         super.computeScroll();
@@ -1230,25 +2237,36 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         final int adjustedOffsetDeltaY = adjustOffsetDelta(mCurrentOffsetY,
                 offsetDeltaY, getBottomOffsetBounds(), true);
         // offset views
-        // First offset event views
-        int childCount = mRecycler.mActiveEventsViews.size();
+        // First offset event views horizontally
+        int childCount;
         int i;
-        for (i = 0; i < childCount; i++) {
-            mRecycler.mActiveEventsViews.get(i).offsetLeftAndRight(
-                    -adjustedOffsetDeltaX);
-            mRecycler.mActiveEventsViews.get(i).offsetTopAndBottom(
-                    -adjustedOffsetDeltaY);
+        if (adjustedOffsetDeltaX != 0) {
+            childCount = mRecycler.mActiveEventsViews.size();
+            for (i = 0; i < childCount; i++) {
+                mRecycler.mActiveEventsViews.get(i).offsetLeftAndRight(
+                        -adjustedOffsetDeltaX);
+            }
         }
-        // Offset channel indicators
-        childCount = mRecycler.mActiveChannelIndicatorViews.size();
-        for (i = 0; i < childCount; i++) {
-            mRecycler.mActiveChannelIndicatorViews.get(i).offsetTopAndBottom(
-                    -adjustedOffsetDeltaY);
+        if (adjustedOffsetDeltaY != 0) {
+            // Event views are moved vertically together with their rows
+            childCount = mRowContainers.size();
+            for (i = 0; i < childCount; i++) {
+                mRowContainers.valueAt(i).offsetTopAndBottom(-adjustedOffsetDeltaY);
+            }
+            // Offset channel indicators
+            childCount = mRecycler.mActiveChannelIndicatorViews.size();
+            for (i = 0; i < childCount; i++) {
+                mRecycler.mActiveChannelIndicatorViews.get(i).offsetTopAndBottom(
+                        -adjustedOffsetDeltaY);
+            }
         }
         // update state
         mCurrentOffsetX += adjustedOffsetDeltaX;
         mCurrentOffsetY += adjustedOffsetDeltaY;
         update();
+        if (mPrefetchEnabled && (adjustedOffsetDeltaX != 0 || adjustedOffsetDeltaY != 0)) {
+            mPrefetcher.schedule(Integer.signum(adjustedOffsetDeltaX), Integer.signum(adjustedOffsetDeltaY));
+        }
     }
 
     /**
@@ -1283,7 +2301,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 int scrollBy = (topInvisiblePart <= topVisiblePart ? -topInvisiblePart
                         : topVisiblePart + mVerticalDividerHeight);
                 if (scrollBy != 0) {
-                    mSmoothScrollRunnable.startScrollBy(0, scrollBy);
+                    mSmoothScrollAnimator.startScrollBy(0, scrollBy);
                 }
                 return true;
             }
@@ -1453,8 +2471,9 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 != 0)) {
             return true;
         }
-        int desiredEventIndex = mSelectedEventItemPosition + (keyCode == KeyEvent.KEYCODE_DPAD_RIGHT ? 1 : -1);
-        if (desiredEventIndex >= mAdapter.getEventsCount(mSelectedItemPosition) || desiredEventIndex <= -1) {
+        final int desiredEventIndex = GuideNavigation.getNextEventIndex(mSelectedEventItemPosition,
+                mAdapter.getEventsCount(mSelectedItemPosition), keyCode == KeyEvent.KEYCODE_DPAD_RIGHT);
+        if (desiredEventIndex == INVALID_POSITION) {
             return false;
         }
         final View nextView = findItemAttachedToWindow(LAYOUT_TYPE_EVENTS,
@@ -1472,7 +2491,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             if (mCurrentOffsetX + scrollBy < 0) {
                 scrollBy = -mCurrentOffsetX;
             }
-            mSmoothScrollRunnable.startScrollBy(scrollBy, 0, SMOOTH_LEFT_RIGHT_DURATION);
+            mSmoothScrollAnimator.startScrollBy(scrollBy, 0, SMOOTH_LEFT_RIGHT_DURATION);
         } else {
             //TODO Implement non fixed scroll
         }
@@ -1527,7 +2546,9 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      */
     protected void unselectSeletedViewWithoutCallback() {
         if (mSelectedView != null) {
-            mTempSelectedViewOffset = mSelectedView.getLeft() + mSelectedView.getMeasuredWidth() / 2;
+            mFocusedTime = calculateTimeAtX(GuideNavigation.getFocusedX(mSelectedView.getLeft(),
+                    mSelectedView.getRight(), mRectEventsArea.left, mRectEventsArea.right,
+                    mSelectionAbsolutePosition));
             mSelectedView = null;
             mSelectedEventItemPosition = INVALID_POSITION;
         }
@@ -1618,9 +2639,22 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
          */
         public int mCurrentResizePercentValue;
         /**
-         * Calculated left coordinate. Only used in ON_NOW to FULL_GUIDE mode transition.
+         * Last relayout of items this view was part of
+         */
+        int mLayoutGeneration;
+        /**
+         * Ids of channel and event this view represents, set only if adapter has stable ids
+         */
+        long mChannelId = INVALID_ID;
+        long mEventId = INVALID_ID;
+        /**
+         * Width to which row clips view while drawing it, INVALID_POSITION if view is not clipped
+         */
+        int mClipWidth = INVALID_POSITION;
+        /**
+         * View type declared by adapter when view was bound
          */
-        public int mLeftCoordinate = 0;
+        int mViewType;
 
         public LayoutParams(Context c, AttributeSet attrs) {
             super(c, attrs);
@@ -1638,7 +2672,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      * @param keyCode        Keycode from remote
      */
     void changeScrollState(int newScrollState, int keyCode) {
-        OnAnimationFinishedListener activeFinishListener = mSmoothScrollRunnable
+        OnAnimationFinishedListener activeFinishListener = mSmoothScrollAnimator
                 .getOnAnimationFinishedListener();
         switch (mScrollState) {
         case SCROLL_STATE_NORMAL: {
@@ -1659,12 +2693,12 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                     }
                     NormalToFastScrollFinishedListener animFinishedListener = new NormalToFastScrollFinishedListener
                             (this, difference);
-                    if (mScroll.isFinished()) {
+                    if (!mSmoothScrollAnimator.isScrollRunning()) {
                         animFinishedListener.animationFinished();
                     } else if (activeFinishListener == null
                             || (activeFinishListener != null
                             && !(activeFinishListener instanceof NormalToFastScrollFinishedListener))) {
-                        mSmoothScrollRunnable
+                        mSmoothScrollAnimator
                                 .setOnAnimationFinishedListener(animFinishedListener);
                     }
                 }
@@ -1683,10 +2717,10 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             } else if (newScrollState == SCROLL_STATE_FAST_SCROLL_END) {
                 FastToFastScrollEndFinishedListener animFinishedListener = new FastToFastScrollEndFinishedListener
                         (this);
-                if (mScroll.isFinished()) {
+                if (!mSmoothScrollAnimator.isScrollRunning()) {
                     animFinishedListener.animationFinished();
                 } else {
-                    mSmoothScrollRunnable
+                    mSmoothScrollAnimator
                             .setOnAnimationFinishedListener(animFinishedListener);
                 }
             }
@@ -1728,7 +2762,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 if (expanded.getTop() > mRectSelectedRowArea.top) {
                     difference = -1;
                 }
-                mSmoothScrollRunnable.resumeVerticalScroll(difference);
+                mSmoothScrollAnimator.resumeVerticalScroll(difference);
                 return true;
             } else {
                 ResizeAnimation animation = new ResizeAnimation(
@@ -1744,12 +2778,23 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     }
 
     /**
-     * Smooth scroll runnable
+     * Smooth scroll animator. Position is calculated from Choreographer frame time, so every vsync produces exactly
+     * one step. Running scroll can be retargeted without restarting, new segment continues from current position.
      */
-    class SmoothScrollRunnable implements Runnable {
+    class SmoothScrollAnimator implements Choreographer.FrameCallback {
 
         private OnAnimationFinishedListener mOnAnimationFinishedListener;
         private int mDesiredChannelPosition;
+        /**
+         * Current segment of scroll
+         */
+        private int mStartX, mStartY, mFinalX, mFinalY;
+        private long mStartTimeNs, mDurationNs;
+        /**
+         * Time of last frame in which position is calculated
+         */
+        private long mLastFrameTimeNs;
+        private boolean mRunning = false;
 
         /**
          * Calculates Y coordinate to scroll to
@@ -1791,7 +2836,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
          * @param difference Difference of current selection to new selection
          */
         void resumeVerticalScroll(int difference) {
-            if (!mScroll.isFinished()) {
+            if (mRunning) {
                 if (mDesiredChannelPosition >= mChannelsCount - 1) {
                     return;
                 } else if (mDesiredChannelPosition <= 0) {
@@ -1800,10 +2845,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 /**
                  * If difference is in opposite direction of current scroll
                  */
-                if ((mScroll.getCurrY() < mScroll.getFinalY() && difference < 0) || (mScroll.getCurrY() > mScroll
-                        .getFinalY() && difference > 0)) {
-                    mScroll.forceFinished(true);
-                    mScroll.abortAnimation();
+                if ((mCurrentOffsetY < mFinalY && difference < 0) || (mCurrentOffsetY > mFinalY && difference > 0)) {
                     final int calculatedYCoordinate = calculateNewYPosition(mSelectedItemPosition + difference);
                     if (calculatedYCoordinate != INVALID_POSITION) {
                         startScrollTo(mCurrentOffsetX, calculatedYCoordinate,
@@ -1811,13 +2853,10 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                     }
                     return;
                 }
-
-                final int newY = mScroll.getFinalY() + difference
-                        * (mChannelRowHeight + mVerticalDividerHeight);
-                mScroll.setFinalY(newY);
-                mScroll.extendDuration(Math.abs(difference)
-                        * SMOOTH_FAST_SCROLL_DURATION
-                        + (mScroll.getDuration() - mScroll.timePassed()));
+                final long remainingNs = Math.max(0, mStartTimeNs + mDurationNs - mLastFrameTimeNs);
+                retarget(mFinalX, mFinalY + difference * (mChannelRowHeight + mVerticalDividerHeight),
+                        TimeUnit.MILLISECONDS.toNanos(Math.abs(difference) * SMOOTH_FAST_SCROLL_DURATION)
+                                + remainingNs);
                 mDesiredChannelPosition = mDesiredChannelPosition + difference;
             } else {
                 final int calculatedYCoordinate = calculateNewYPosition(mSelectedItemPosition
@@ -1837,7 +2876,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             // if it is invisible perform fast scroll
             if (isScrollRunning()) {
                 if (mScrollState == SCROLL_STATE_NORMAL) {
-                    setOnAnimationFinishedListener(new NormalToNormalScrollFinishedListener(mSmoothScrollRunnable,
+                    setOnAnimationFinishedListener(new NormalToNormalScrollFinishedListener(mSmoothScrollAnimator,
                             newChannelPosition, duration));
                     return true;
                 }
@@ -1869,14 +2908,14 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         }
 
         boolean startScrollBy(int byX, int byY, int duration) {
-            //log("SmoothScrollRunnable startScrollBy, byX=" + byX + ", byY=" + byY);
             // Dont start scroll if difference is 0
             if (byX != 0 || byY != 0) {
-                mScroll.forceFinished(true);// TODO check if this can be removed
-                BaseGuideView.this.removeCallbacks(this);
-                mScroll.startScroll(mCurrentOffsetX, mCurrentOffsetY, byX, byY,
-                        duration);
-                BaseGuideView.this.postOnAnimation(this);
+                mLastFrameTimeNs = mFrameScheduler.nanoTime();
+                retarget(mCurrentOffsetX + byX, mCurrentOffsetY + byY, TimeUnit.MILLISECONDS.toNanos(duration));
+                if (!mRunning) {
+                    mRunning = true;
+                    mFrameScheduler.postFrameCallback(this);
+                }
                 return true;
             }
             return false;
@@ -1895,37 +2934,79 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                     duration);
         }
 
+        /**
+         * Start new segment from current position and time of last frame, so position stays continuous
+         *
+         * @param finalX     Final X offset
+         * @param finalY     Final Y offset
+         * @param durationNs Duration of new segment
+         */
+        private void retarget(int finalX, int finalY, long durationNs) {
+            mStartX = mCurrentOffsetX;
+            mStartY = mCurrentOffsetY;
+            mFinalX = finalX;
+            mFinalY = finalY;
+            mStartTimeNs = mLastFrameTimeNs;
+            mDurationNs = Math.max(1, durationNs);
+        }
+
         @Override
-        public void run() {
-            if (mScroll.isFinished()) {
-                //log("scroller is finished, done with smooth scroll");
-                mDesiredChannelPosition = mSelectedItemPosition;
-                if (mOnAnimationFinishedListener != null) {
-                    if (!mOnAnimationFinishedListener.animationFinished()) {
-                        mOnAnimationFinishedListener = null;
-                    }
-                } else if (mScrollState == SCROLL_STATE_FAST_SCROLL) {
-                    fastScrollEnd();
-                }
+        public void doFrame(long frameTimeNanos) {
+            if (!mRunning) {
                 return;
             }
-            boolean animationRunning = mScroll.computeScrollOffset();
-            int x = mScroll.getCurrX();
-            int y = mScroll.getCurrY();
-            //log("SmoothScrollRunnable RUNNNNN  y=" + y);
+            // Frame time can be older than start time if scroll is started in the middle of a frame
+            mLastFrameTimeNs = Math.max(frameTimeNanos, mStartTimeNs);
+            final float progress = Math.min(1f, (float) (mLastFrameTimeNs - mStartTimeNs) / mDurationNs);
+            final int x = mStartX + Math.round((mFinalX - mStartX) * progress);
+            final int y = mStartY + Math.round((mFinalY - mStartY) * progress);
             int diffX = x - mCurrentOffsetX;
             int diffY = y - mCurrentOffsetY;
             if (diffX != 0 || diffY != 0) {
                 offsetBy(diffX, diffY);
             }
-            if (animationRunning) {
-                BaseGuideView.this.postOnAnimationDelayed(this,
-                        REFRESH_INTERVAL);
+            if (progress < 1f) {
+                mFrameScheduler.postFrameCallback(this);
+            } else {
+                mRunning = false;
+                onScrollFinished();
+            }
+        }
+
+        /**
+         * Called when scroll reaches its final position or when it is stopped by user
+         */
+        private void onScrollFinished() {
+            mDesiredChannelPosition = mSelectedItemPosition;
+            if (mOnAnimationFinishedListener != null) {
+                if (!mOnAnimationFinishedListener.animationFinished()) {
+                    mOnAnimationFinishedListener = null;
+                }
+            } else if (mScrollState == SCROLL_STATE_FAST_SCROLL) {
+                fastScrollEnd();
+            }
+        }
+
+        /**
+         * Stop scroll at current position, finish listener is notified as if scroll has ended
+         */
+        void forceFinished() {
+            if (mRunning) {
+                cancel();
+                onScrollFinished();
             }
         }
 
+        /**
+         * Stop scroll at current position without notifying finish listener
+         */
+        void cancel() {
+            mRunning = false;
+            mFrameScheduler.removeFrameCallback(this);
+        }
+
         public boolean isScrollRunning() {
-            return !mScroll.isFinished();
+            return mRunning;
         }
 
         public OnAnimationFinishedListener getOnAnimationFinishedListener() {
@@ -1943,24 +3024,31 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
      */
     class Recycler {
         /**
-         * Recycle bin for unused guide events views
+         * Recycle bin for unused views, can be shared with other guides
          */
-        SparseArray<ArrayDeque<View>> mRecycledEventsViews = new SparseArray<ArrayDeque<View>>();
+        GuideViewPool mPool = new GuideViewPool();
+        /**
+         * View types this guide recycled into pool, keys are view types
+         */
+        SparseIntArray mRecycledEventViewTypes = new SparseIntArray();
+        SparseIntArray mRecycledChannelIndicatorViewTypes = new SparseIntArray();
         /**
          * List for active event views that is currently visible on screen
          */
         ArrayList<View> mActiveEventsViews = new ArrayList<View>();
 
-        /**
-         * Recycle bin for unused channel indicators views
-         */
-        ArrayDeque<View> mRecycledChannelIndicatorViews = new ArrayDeque<View>();
         /**
          * List for active channel indicator views that is currently visible on
          * screen
          */
         ArrayList<View> mActiveChannelIndicatorViews = new ArrayList<View>();
 
+        /**
+         * Views that are created and bound ahead of time but are not yet added to layout
+         */
+        ArrayList<View> mPrefetchedEventViews = new ArrayList<View>();
+        ArrayList<View> mPrefetchedChannelIndicatorViews = new ArrayList<View>();
+
         /**
          * Add new view to list of active views
          *
@@ -1979,75 +3067,211 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             mActiveChannelIndicatorViews.add(view);
         }
 
+        Recycler() {
+            mPool.attach(BaseGuideView.this);
+        }
+
         /**
          * Get event view from recycler
          *
-         * @param viewWidth Width of view to pull
+         * @param viewType View type declared by adapter
          * @return Pulled view, or NULL if there is no such a view inside
          * recycler
          */
-        View getEventView(final int viewWidth) {
-            ArrayDeque<View> list = mRecycledEventsViews.get(viewWidth);
-            if (list != null) {
-                return list.poll();
-            }
-            return null;
+        View getEventView(final int viewType) {
+            return mPool.getEventView(viewType);
         }
 
         /**
          * Get channel indicator view from recycler
          *
+         * @param viewType View type declared by adapter
          * @return Pulled view, or NULL if there is no such a view inside
          * recycler
          */
-        View getChannelIndicatorView() {
-            return mRecycledChannelIndicatorViews.poll();
+        View getChannelIndicatorView(final int viewType) {
+            return mPool.getChannelIndicatorView(viewType);
         }
 
         /**
-         * Move view from active views to recycler. This method must be used
-         * when view is no longer visible on screen so it should be recycled.
+         * @param event TRUE for event view type, FALSE for channel indicator view type
+         * @return TRUE if this guide recycled views of desired type since its adapter was set
+         */
+        boolean usesViewType(int viewType, boolean event) {
+            return (event ? mRecycledEventViewTypes : mRecycledChannelIndicatorViewTypes).indexOfKey(viewType) >= 0;
+        }
+
+        /**
+         * Move recycler to another pool, views recycled into previous pool stay there
+         */
+        void setPool(GuideViewPool pool) {
+            mPool.detach(BaseGuideView.this);
+            mPool = pool;
+            mPool.attach(BaseGuideView.this);
+        }
+
+        /**
+         * Add view that is bound ahead of time
          *
-         * @param view View that is no longer visible on screen
+         * @param view View to add
          */
-        void recycleEventViews(View view) {
-            final int viewWidth = view.getWidth();
-            ArrayDeque<View> list = mRecycledEventsViews.get(viewWidth);
-            if (list == null) {
-                list = new ArrayDeque<View>();
-                mRecycledEventsViews.put(viewWidth, list);
-            }
-            list.offer(view);
+        void addPrefetchedEventView(View view) {
+            mPrefetchedEventViews.add(view);
         }
 
         /**
-         * Move view from active views to recycler. This method must be used
-         * when view is no longer visible on screen so it should be recycled.
+         * Add channel indicator view that is bound ahead of time
          *
-         * @param view View that is no longer visible on screen
+         * @param view View to add
          */
-        void recycleChannelIndicatorViews(View view) {
-            mRecycledChannelIndicatorViews.offer(view);
+        void addPrefetchedChannelIndicatorView(View view) {
+            mPrefetchedChannelIndicatorViews.add(view);
         }
 
         /**
-         * Move view from active views to recycler. This method must be used
-         * when view is no longer visible on screen so it should be recycled.
+         * Get already bound event view
          *
-         * @param view View that is no longer visible on screen
+         * @return Prefetched view for desired channel and event, or NULL if view was not prefetched
          */
-        void recycleTimeLineViews(View view) {
-            mRecycledChannelIndicatorViews.offer(view);
+        View getPrefetchedEventView(int channelIndex, int eventIndex) {
+            final int index = indexOfView(mPrefetchedEventViews, channelIndex, eventIndex);
+            return index == INVALID_POSITION ? null : mPrefetchedEventViews.remove(index);
         }
 
         /**
-         * Move all views from active views to recycler views
+         * Get already bound channel indicator view
+         *
+         * @return Prefetched view for desired channel, or NULL if view was not prefetched
          */
-        void moveAllViewsToRecycle() {
-            // Recycle event views
-            for (View v : mActiveEventsViews) {
-                recycleEventViews(v);
-                removeViewInLayout(v);
+        View getPrefetchedChannelIndicatorView(int channelIndex) {
+            final int index = indexOfView(mPrefetchedChannelIndicatorViews, channelIndex, INVALID_POSITION);
+            return index == INVALID_POSITION ? null : mPrefetchedChannelIndicatorViews.remove(index);
+        }
+
+        boolean isEventViewPrefetched(int channelIndex, int eventIndex) {
+            return indexOfView(mPrefetchedEventViews, channelIndex, eventIndex) != INVALID_POSITION;
+        }
+
+        boolean isChannelIndicatorViewPrefetched(int channelIndex) {
+            return indexOfView(mPrefetchedChannelIndicatorViews, channelIndex, INVALID_POSITION)
+                    != INVALID_POSITION;
+        }
+
+        private int indexOfView(ArrayList<View> views, int channelIndex, int eventIndex) {
+            LayoutParams lp;
+            for (int i = views.size() - 1; i >= 0; i--) {
+                lp = (LayoutParams) views.get(i).getLayoutParams();
+                if (lp.mChannelIndex == channelIndex && lp.mEventIndex == eventIndex) {
+                    return i;
+                }
+            }
+            return INVALID_POSITION;
+        }
+
+        /**
+         * Move prefetched views of channels that are out of desired range to recycler
+         *
+         * @param firstChannelIndex First channel index whose prefetched views are kept
+         * @param lastChannelIndex  Last channel index whose prefetched views are kept
+         */
+        void recycleStalePrefetchedViews(int firstChannelIndex, int lastChannelIndex) {
+            View v;
+            int channelIndex;
+            int i;
+            for (i = mPrefetchedEventViews.size() - 1; i >= 0; i--) {
+                v = mPrefetchedEventViews.get(i);
+                channelIndex = ((LayoutParams) v.getLayoutParams()).mChannelIndex;
+                if (channelIndex < firstChannelIndex || channelIndex > lastChannelIndex) {
+                    mPrefetchedEventViews.remove(i);
+                    recycleEventViews(v);
+                }
+            }
+            for (i = mPrefetchedChannelIndicatorViews.size() - 1; i >= 0; i--) {
+                v = mPrefetchedChannelIndicatorViews.get(i);
+                channelIndex = ((LayoutParams) v.getLayoutParams()).mChannelIndex;
+                if (channelIndex < firstChannelIndex || channelIndex > lastChannelIndex) {
+                    mPrefetchedChannelIndicatorViews.remove(i);
+                    recycleChannelIndicatorViews(v);
+                }
+            }
+        }
+
+        /**
+         * Move prefetched event views of desired channel to recycler, their data is no longer valid
+         */
+        void recyclePrefetchedViews(int channelIndex) {
+            View v;
+            for (int i = mPrefetchedEventViews.size() - 1; i >= 0; i--) {
+                v = mPrefetchedEventViews.get(i);
+                if (((LayoutParams) v.getLayoutParams()).mChannelIndex == channelIndex) {
+                    mPrefetchedEventViews.remove(i);
+                    recycleEventViews(v);
+                }
+            }
+        }
+
+        /**
+         * Move all prefetched views to recycler
+         */
+        void recyclePrefetchedViews() {
+            for (View v : mPrefetchedEventViews) {
+                recycleEventViews(v);
+            }
+            mPrefetchedEventViews.clear();
+            for (View v : mPrefetchedChannelIndicatorViews) {
+                recycleChannelIndicatorViews(v);
+            }
+            mPrefetchedChannelIndicatorViews.clear();
+        }
+
+        /**
+         * Move view from active views to recycler. This method must be used
+         * when view is no longer visible on screen so it should be recycled.
+         *
+         * @param view View that is no longer visible on screen
+         */
+        void recycleEventViews(View view) {
+            // View can be recycled while it is transformed by mode transition
+            view.setTranslationX(0);
+            final LayoutParams params = (LayoutParams) view.getLayoutParams();
+            params.mClipWidth = INVALID_POSITION;
+            mRecycledEventViewTypes.put(params.mViewType, 1);
+            mPool.putEventView(view, params.mViewType);
+            mMetrics.count(GuideMetrics.COUNT_VIEWS_RECYCLED);
+            invalidateRowLayout(((LayoutParams) view.getLayoutParams()).mChannelIndex);
+        }
+
+        /**
+         * Move view from active views to recycler. This method must be used
+         * when view is no longer visible on screen so it should be recycled.
+         *
+         * @param view View that is no longer visible on screen
+         */
+        void recycleChannelIndicatorViews(View view) {
+            final int viewType = ((LayoutParams) view.getLayoutParams()).mViewType;
+            mRecycledChannelIndicatorViewTypes.put(viewType, 1);
+            mPool.putChannelIndicatorView(view, viewType);
+            mMetrics.count(GuideMetrics.COUNT_VIEWS_RECYCLED);
+        }
+
+        /**
+         * Move view from active views to recycler. This method must be used
+         * when view is no longer visible on screen so it should be recycled.
+         *
+         * @param view View that is no longer visible on screen
+         */
+        void recycleTimeLineViews(View view) {
+            recycleChannelIndicatorViews(view);
+        }
+
+        /**
+         * Move all views from active views to recycler views
+         */
+        void moveAllViewsToRecycle() {
+            // Recycle event views
+            for (View v : mActiveEventsViews) {
+                recycleEventViews(v);
+                removeEventViewInLayout(v);
             }
             mActiveEventsViews.clear();
             // Recycle channel indicator views
@@ -2056,6 +3280,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 removeViewInLayout(v);
             }
             mActiveChannelIndicatorViews.clear();
+            recyclePrefetchedViews();
         }
 
         /**
@@ -2068,8 +3293,26 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 v = mActiveEventsViews.get(i);
                 if (((LayoutParams) v.getLayoutParams()).mChannelIndex == channelIndex) {
                     recycleEventViews(v);
-                    removeViewInLayout(v);
+                    removeEventViewInLayout(v);
+                    mActiveEventsViews.remove(i);
+                }
+            }
+            recyclePrefetchedViews(channelIndex);
+        }
+
+        /**
+         * Move all active event views except desired one to recycler
+         *
+         * @param viewToKeep View that should stay in layout, can be NULL
+         */
+        void recycleEventViewsExcept(View viewToKeep) {
+            View v;
+            for (int i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                v = mActiveEventsViews.get(i);
+                if (v != viewToKeep) {
                     mActiveEventsViews.remove(i);
+                    recycleEventViews(v);
+                    removeEventViewInLayout(v);
                 }
             }
         }
@@ -2081,17 +3324,33 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         void clearAll() {
             // Clear all cache of event views
             mActiveEventsViews.clear();
-            final int length = mRecycledEventsViews.size();
-            // Make sure to clear all views
-            for (int i = 0; i < length; i++) {
-                ArrayDeque<View> list = mRecycledEventsViews
-                        .get(mRecycledEventsViews.keyAt(i));
-                list.clear();
-            }
-            mRecycledEventsViews.clear();
-            // Clear all cache of channel indicators views
             mActiveChannelIndicatorViews.clear();
-            mRecycledChannelIndicatorViews.clear();
+            // Pooled views may not be compatible with new adapter, views of other guides of shared pool are kept
+            mPool.clearViewTypesOf(BaseGuideView.this, mRecycledEventViewTypes, mRecycledChannelIndicatorViewTypes);
+            mRecycledEventViewTypes.clear();
+            mRecycledChannelIndicatorViewTypes.clear();
+            mPrefetchedEventViews.clear();
+            mPrefetchedChannelIndicatorViews.clear();
+            invalidateRowLayout(INVALID_POSITION);
+        }
+
+        /**
+         * Drop recycled views until recycler contains no more than desired number of views. Active views are not
+         * affected.
+         *
+         * @param maxEventViews            Maximum number of recycled event views
+         * @param maxChannelIndicatorViews Maximum number of recycled channel indicator views
+         */
+        void trimToSize(int maxEventViews, int maxChannelIndicatorViews) {
+            recyclePrefetchedViews();
+            mPool.trimToSize(maxEventViews, maxChannelIndicatorViews);
+        }
+
+        /**
+         * @return Number of event views currently in recycle bin
+         */
+        int getRecycledEventViewsCount() {
+            return mPool.getEventViewsCount();
         }
 
         /**
@@ -2108,7 +3367,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 if (lp.mChannelIndex == channelPosition) {
                     mActiveEventsViews.remove(i);
                     recycleEventViews(v);
-                    removeViewInLayout(v);
+                    removeEventViewInLayout(v);
                 }
             }
             // Remove channel indicator views
@@ -2123,10 +3382,247 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
             }
         }
 
+        /**
+         * Rebind active views with current adapter in place. Views whose channel or event no longer exist are
+         * recycled, views that adapter replaced with new views are recycled and new views are kept as prefetched.
+         */
+        void rebindActiveViews() {
+            // Prefetched views contain data of previous adapter
+            recyclePrefetchedViews();
+            View v, bound;
+            LayoutParams lp;
+            int i;
+            for (i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                v = mActiveEventsViews.get(i);
+                lp = (LayoutParams) v.getLayoutParams();
+                bound = null;
+                if (lp.mChannelIndex < mChannelsCount && lp.mEventIndex < mAdapter.getEventsCount(lp.mChannelIndex)) {
+                    bound = bindEventView(lp.mChannelIndex, lp.mEventIndex, v);
+                    setStableIds(lp, lp.mChannelIndex, lp.mEventIndex);
+                }
+                if (bound != v) {
+                    mActiveEventsViews.remove(i);
+                    if (bound != null) {
+                        preparePrefetchedView(bound, v.getWidth(), v.getHeight(), lp.mChannelIndex,
+                                lp.mEventIndex);
+                        addPrefetchedEventView(bound);
+                    }
+                    recycleEventViews(v);
+                    removeEventViewInLayout(v);
+                }
+            }
+            for (i = mActiveChannelIndicatorViews.size() - 1; i >= 0; i--) {
+                v = mActiveChannelIndicatorViews.get(i);
+                lp = (LayoutParams) v.getLayoutParams();
+                bound = null;
+                if (lp.mChannelIndex < mChannelsCount) {
+                    bound = bindChannelIndicatorView(lp.mChannelIndex, v);
+                    setStableIds(lp, lp.mChannelIndex, INVALID_POSITION);
+                }
+                if (bound != v) {
+                    mActiveChannelIndicatorViews.remove(i);
+                    if (bound != null) {
+                        preparePrefetchedView(bound, v.getWidth(), v.getHeight(), lp.mChannelIndex,
+                                INVALID_POSITION);
+                        addPrefetchedChannelIndicatorView(bound);
+                    }
+                    recycleChannelIndicatorViews(v);
+                    removeViewInLayout(v);
+                }
+            }
+        }
+
+        /**
+         * Rebind active event views of desired channel and events range in place
+         *
+         * @param eventStart First event index
+         * @param eventEnd   Event index after last event
+         * @return TRUE if adapter replaced any view, replaced views are recycled and new views are kept as prefetched
+         */
+        boolean rebindEventViews(int channelIndex, int eventStart, int eventEnd) {
+            boolean replaced = false;
+            LayoutParams lp;
+            for (int i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                lp = (LayoutParams) mActiveEventsViews.get(i).getLayoutParams();
+                if (lp.mChannelIndex != channelIndex || lp.mEventIndex < eventStart || lp.mEventIndex >= eventEnd) {
+                    continue;
+                }
+                replaced |= rebindActiveEventView(i, mActiveEventsViews.get(i).getWidth());
+            }
+            return replaced;
+        }
+
+        /**
+         * Rebind active channel indicator views of desired channels range in place
+         *
+         * @param channelStart First channel index
+         * @param channelEnd   Channel index after last channel
+         * @return TRUE if adapter replaced any view, replaced views are recycled and new views are kept as prefetched
+         */
+        boolean rebindChannelIndicatorViews(int channelStart, int channelEnd) {
+            boolean replaced = false;
+            View v, bound;
+            LayoutParams lp;
+            for (int i = mActiveChannelIndicatorViews.size() - 1; i >= 0; i--) {
+                v = mActiveChannelIndicatorViews.get(i);
+                lp = (LayoutParams) v.getLayoutParams();
+                if (lp.mChannelIndex < channelStart || lp.mChannelIndex >= channelEnd) {
+                    continue;
+                }
+                bound = bindChannelIndicatorView(lp.mChannelIndex, v);
+                if (bound != v) {
+                    mActiveChannelIndicatorViews.remove(i);
+                    preparePrefetchedView(bound, v.getWidth(), v.getHeight(), lp.mChannelIndex, INVALID_POSITION);
+                    addPrefetchedChannelIndicatorView(bound);
+                    recycleChannelIndicatorViews(v);
+                    removeViewInLayout(v);
+                    replaced = true;
+                }
+            }
+            return replaced;
+        }
+
+        /**
+         * Rebind active event views whose width moves to another bucket of adapter with current width of one minute.
+         * Widths of whole events are compared, views clipped at now line are laid out narrower than their events.
+         *
+         * @param oldOneMinuteWidth Width of one minute before zoom
+         */
+        void rebindEventViewsOfChangedWidthBuckets(int oldOneMinuteWidth) {
+            LayoutParams lp;
+            int width;
+            for (int i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                lp = (LayoutParams) mActiveEventsViews.get(i).getLayoutParams();
+                width = calculateEventWidth(lp.mChannelIndex, lp.mEventIndex);
+                if (mAdapter.getEventWidthBucket(calculateEventWidth(lp.mChannelIndex, lp.mEventIndex,
+                        oldOneMinuteWidth)) != mAdapter.getEventWidthBucket(width)) {
+                    // View is resized in next layout, adapter can read new width from layout params
+                    lp.width = width;
+                    rebindActiveEventView(i, width);
+                }
+            }
+        }
+
+        /**
+         * Rebind active event view in place
+         *
+         * @param index Index of view in active views
+         * @param width Width of new view if adapter replaces view
+         * @return TRUE if adapter replaced view, replaced view is recycled and new view is kept as prefetched
+         */
+        private boolean rebindActiveEventView(int index, int width) {
+            final View v = mActiveEventsViews.get(index);
+            final LayoutParams lp = (LayoutParams) v.getLayoutParams();
+            final View bound = bindEventView(lp.mChannelIndex, lp.mEventIndex, v);
+            if (bound == v) {
+                return false;
+            }
+            mActiveEventsViews.remove(index);
+            preparePrefetchedView(bound, width, v.getHeight(), lp.mChannelIndex, lp.mEventIndex);
+            addPrefetchedEventView(bound);
+            if (v == mSelectedView) {
+                unselectSeletedViewWithoutCallback();
+            }
+            recycleEventViews(v);
+            removeEventViewInLayout(v);
+            return true;
+        }
+
+        /**
+         * Move active views to new indexes of their channels and events. Views whose channel or event no longer
+         * exists are recycled.
+         *
+         * @param channelPositions New channel indexes by channel id
+         */
+        void remapActiveViews(LongSparseArray<Integer> channelPositions) {
+            View v;
+            LayoutParams lp;
+            Integer channelPosition;
+            int i;
+            for (i = mActiveChannelIndicatorViews.size() - 1; i >= 0; i--) {
+                v = mActiveChannelIndicatorViews.get(i);
+                lp = (LayoutParams) v.getLayoutParams();
+                channelPosition = channelPositions.get(lp.mChannelId);
+                if (channelPosition == null) {
+                    mActiveChannelIndicatorViews.remove(i);
+                    recycleChannelIndicatorViews(v);
+                    removeViewInLayout(v);
+                } else {
+                    lp.mChannelIndex = channelPosition;
+                }
+            }
+            for (i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                v = mActiveEventsViews.get(i);
+                lp = (LayoutParams) v.getLayoutParams();
+                channelPosition = channelPositions.get(lp.mChannelId);
+                remapEventView(i, channelPosition == null ? INVALID_POSITION : channelPosition);
+            }
+        }
+
+        /**
+         * Move active event views of desired channel to new indexes of their events
+         *
+         * @param channelIndex    Current index of channel
+         * @param newChannelIndex New index of channel
+         */
+        void remapEventViews(int channelIndex, int newChannelIndex) {
+            for (int i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                if (((LayoutParams) mActiveEventsViews.get(i).getLayoutParams()).mChannelIndex == channelIndex) {
+                    remapEventView(i, newChannelIndex);
+                }
+            }
+        }
+
+        /**
+         * Move active event view to new index of its event or recycle it if event no longer exists
+         *
+         * @param index           Index of view in active event views
+         * @param newChannelIndex New index of channel of event, or INVALID_POSITION if channel no longer exists
+         */
+        private void remapEventView(int index, int newChannelIndex) {
+            final View v = mActiveEventsViews.get(index);
+            final LayoutParams lp = (LayoutParams) v.getLayoutParams();
+            final int newEventIndex = newChannelIndex == INVALID_POSITION ? INVALID_POSITION
+                    : findEventIndexById(newChannelIndex, lp.mEventId, lp.mEventIndex);
+            if (newEventIndex == INVALID_POSITION) {
+                mActiveEventsViews.remove(index);
+                recycleEventViews(v);
+                removeEventViewInLayout(v);
+            } else {
+                lp.mChannelIndex = newChannelIndex;
+                lp.mEventIndex = newEventIndex;
+            }
+        }
+
+        /**
+         * Recycle active views that were not laid out in desired layout generation
+         */
+        void recycleViewsNotLaidOut(int layoutGeneration) {
+            View v;
+            int i;
+            for (i = mActiveEventsViews.size() - 1; i >= 0; i--) {
+                v = mActiveEventsViews.get(i);
+                if (((LayoutParams) v.getLayoutParams()).mLayoutGeneration != layoutGeneration) {
+                    mActiveEventsViews.remove(i);
+                    recycleEventViews(v);
+                    removeEventViewInLayout(v);
+                }
+            }
+            for (i = mActiveChannelIndicatorViews.size() - 1; i >= 0; i--) {
+                v = mActiveChannelIndicatorViews.get(i);
+                if (((LayoutParams) v.getLayoutParams()).mLayoutGeneration != layoutGeneration) {
+                    mActiveChannelIndicatorViews.remove(i);
+                    recycleChannelIndicatorViews(v);
+                    removeViewInLayout(v);
+                }
+            }
+        }
+
         /**
          * Remove invisible views and recycle them for later use
          */
         void removeInvisibleItems() {
+            final boolean traced = GuideTrace.begin(GuideTrace.REMOVE_INVISIBLE_ITEMS);
             View v = null;
             // Check events recycler
             int i;
@@ -2135,7 +3631,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                 if (isViewInvisible(mRectEventsArea, v)) {
                     mActiveEventsViews.remove(i);
                     recycleEventViews(v);
-                    removeViewInLayout(v);
+                    removeEventViewInLayout(v);
                 }
             }
             // Check channel indicators recycler
@@ -2147,6 +3643,7 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
                     removeViewInLayout(v);
                 }
             }
+            GuideTrace.end(traced);
         }
 
         ArrayList<View> getActiveEventViews() {
@@ -2230,10 +3727,247 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
         requestLayout();
     }
 
+    /**
+     * @return Current time in minutes since epoch, read from guide clock
+     */
+    public long getCurrentTimeMinutes() {
+        return TimeUnit.MILLISECONDS.toMinutes(mClock.currentTimeMillis());
+    }
+
+    /**
+     * @return Start time of guide in minutes since epoch, or INVALID_TIME if adapter is not set
+     */
+    public long getStartTimeMinutes() {
+        return mStartTimeMinutes;
+    }
+
+    /**
+     * @return End time of guide in minutes since epoch, or INVALID_TIME if adapter is not set
+     */
+    public long getEndTimeMinutes() {
+        return mEndTimeMinutes;
+    }
+
+    /**
+     * @return Distance in pixels from guide start to current time, without scroll offset
+     */
+    int calculateNowOffset() {
+        return calculateDiffInMinutes(getCurrentTimeMinutes(), mStartTimeMinutes) * mOneMinuteWidth;
+    }
+
+    public GuideClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * Set source of current time used by guide
+     *
+     * @param clock Clock to use, or null for system clock
+     */
+    public void setClock(GuideClock clock) {
+        mClock = clock == null ? GuideClock.SYSTEM : clock;
+        if (mAdapter != null) {
+            removeCallbacks(mClockTickRunnable);
+            mClockTickScheduled = false;
+            updateClockTick();
+            invalidate();
+        }
+    }
+
+    /**
+     * @return Pool of recycled views used by this guide
+     */
+    public GuideViewPool getViewPool() {
+        return mRecycler.mPool;
+    }
+
+    /**
+     * Attach guide to view pool, pool can be shared by several guides so they reuse each other's recycled views.
+     * Views recycled into previous pool stay there. Pool keeps reference to guide until guide is attached to another
+     * pool.
+     *
+     * @param pool Pool to use, or NULL for new private pool of this guide
+     */
+    public void setViewPool(GuideViewPool pool) {
+        mRecycler.setPool(pool == null ? new GuideViewPool() : pool);
+    }
+
+    /**
+     * Set width of one minute in pixels regardless of zoom levels and screen density, used by benchmark
+     *
+     * @param oneMinuteWidth Width of one minute in pixels
+     */
+    void setOneMinuteWidth(int oneMinuteWidth) {
+        if (mAdapter == null) {
+            mOneMinuteWidth = oneMinuteWidth;
+        } else {
+            changeOneMinuteWidth(oneMinuteWidth, INVALID_POSITION);
+        }
+    }
+
+    GuideFrameScheduler getFrameScheduler() {
+        return mFrameScheduler;
+    }
+
+    /**
+     * Set source of frame callbacks, running smooth scroll and prefetch are stopped
+     *
+     * @param frameScheduler Scheduler to use, or null for Choreographer
+     */
+    void setFrameScheduler(GuideFrameScheduler frameScheduler) {
+        mSmoothScrollAnimator.cancel();
+        mPrefetcher.cancel();
+        mFrameScheduler = frameScheduler == null ? GuideFrameScheduler.CHOREOGRAPHER : frameScheduler;
+    }
+
+    /**
+     * @return Per frame performance metrics of guide
+     */
+    public GuideMetrics getMetrics() {
+        return mMetrics;
+    }
+
+    /**
+     * Enable or disable collecting of per frame performance metrics
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        mMetrics.setEnabled(enabled);
+    }
+
+    public void setOnFrameMetricsListener(GuideMetrics.OnFrameMetricsListener listener) {
+        mMetrics.setOnFrameMetricsListener(listener);
+    }
+
+    /**
+     * Enable or disable system trace sections around guide hot paths. Tracing is supported from API 18.
+     */
+    public static void setTraceEnabled(boolean enabled) {
+        GuideTrace.setEnabled(enabled);
+    }
+
     public int getOneMinuteWidth() {
         return mOneMinuteWidth;
     }
 
+    /**
+     * @return Index of current level in {@link #ZOOM_LEVELS}, or INVALID_POSITION if width of one minute does not
+     * match any level, for example if it is set from attributes
+     */
+    public int getZoomLevel() {
+        for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+            if (calculateOneMinuteWidth(ZOOM_LEVELS[i]) == mOneMinuteWidth) {
+                return i;
+            }
+        }
+        return INVALID_POSITION;
+    }
+
+    /**
+     * Change zoom level, time of selected event stays on the same place on screen
+     *
+     * @param zoomLevel Index of level in {@link #ZOOM_LEVELS}
+     * @return TRUE if zoom is changed
+     */
+    public boolean setZoomLevel(int zoomLevel) {
+        if (!isZoomAllowed()) {
+            return false;
+        }
+        return changeOneMinuteWidth(calculateOneMinuteWidth(ZOOM_LEVELS[zoomLevel]), INVALID_POSITION);
+    }
+
+    /**
+     * Zoom in to the next level with less minutes on screen
+     *
+     * @return TRUE if zoom is changed
+     */
+    public boolean zoomIn() {
+        return zoomBy(true, INVALID_POSITION);
+    }
+
+    /**
+     * Zoom out to the next level with more minutes on screen
+     *
+     * @return TRUE if zoom is changed
+     */
+    public boolean zoomOut() {
+        return zoomBy(false, INVALID_POSITION);
+    }
+
+    /**
+     * @return TRUE if width of one minute can be changed in current state of guide
+     */
+    protected boolean isZoomAllowed() {
+        return mAdapter != null && mRectEventsArea.width() > 0 && mScrollState == SCROLL_STATE_NORMAL;
+    }
+
+    /**
+     * Change zoom to the next level. Next level is found by width of one minute, because current width may be set
+     * from attributes and several levels can have the same width on small screens.
+     *
+     * @param in      TRUE to zoom in, FALSE to zoom out
+     * @param anchorX X coordinate whose time stays on the same place, or INVALID_POSITION for selection
+     */
+    private boolean zoomBy(boolean in, int anchorX) {
+        if (!isZoomAllowed()) {
+            return false;
+        }
+        int oneMinuteWidth;
+        if (in) {
+            for (int i = ZOOM_LEVELS.length - 1; i >= 0; i--) {
+                oneMinuteWidth = calculateOneMinuteWidth(ZOOM_LEVELS[i]);
+                if (oneMinuteWidth > mOneMinuteWidth) {
+                    return changeOneMinuteWidth(oneMinuteWidth, anchorX);
+                }
+            }
+        } else {
+            for (int i = 0; i < ZOOM_LEVELS.length; i++) {
+                oneMinuteWidth = calculateOneMinuteWidth(ZOOM_LEVELS[i]);
+                if (oneMinuteWidth < mOneMinuteWidth) {
+                    return changeOneMinuteWidth(oneMinuteWidth, anchorX);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return Width of one minute so desired number of minutes fills events area
+     */
+    private int calculateOneMinuteWidth(int minutesOnScreen) {
+        return Math.max(1, mRectEventsArea.width() / minutesOnScreen);
+    }
+
+    /**
+     * Change width of one minute. Event offsets are kept in minutes, so they stay valid for every width and only
+     * views whose width bucket is changed are bound again, other views are resized by layout.
+     *
+     * @param oneMinuteWidth New width of one minute
+     * @param anchorX        X coordinate whose time stays on the same place, or INVALID_POSITION for selection
+     * @return TRUE if width is changed
+     */
+    private boolean changeOneMinuteWidth(int oneMinuteWidth, int anchorX) {
+        if (oneMinuteWidth == mOneMinuteWidth) {
+            return false;
+        }
+        if (anchorX == INVALID_POSITION) {
+            anchorX = mSelectedView != null ? mSelectedView.getLeft() + mSelectedView.getWidth() / 2
+                    : mSelectionAbsolutePosition;
+        }
+        final int anchorOffset = anchorX - mRectEventsArea.left;
+        final float anchorTime = (float) (anchorOffset + mCurrentOffsetX) / mOneMinuteWidth;
+        mSmoothScrollAnimator.cancel();
+        mScroll.forceFinished(true);
+        final int oldOneMinuteWidth = mOneMinuteWidth;
+        mOneMinuteWidth = oneMinuteWidth;
+        mTotalWidth = mOneMinuteWidth * calculateDiffInMinutes(mEndTimeMinutes, mStartTimeMinutes);
+        mCurrentOffsetX = Math.max(0, Math.min(Math.round(anchorTime * mOneMinuteWidth) - anchorOffset,
+                getRightOffsetBounds()));
+        mRecycler.rebindEventViewsOfChangedWidthBuckets(oldOneMinuteWidth);
+        invalidateTimeLineCache();
+        relayoutItems();
+        return true;
+    }
+
     public int getChannelRowHeight() {
         return mChannelRowHeight;
     }
@@ -2249,4 +3983,32 @@ public abstract class BaseGuideView extends GuideAdapterView<BaseGuideAdapter> {
     public void setTimeLineSpecificOffset(int mTimeLineSpecificOffset) {
         this.mTimeLineSpecificOffset = mTimeLineSpecificOffset;
     }
+
+    public int getRecycledEventViewsLimit() {
+        return mRecycledEventViewsLimit;
+    }
+
+    public void setRecycledEventViewsLimit(int mRecycledEventViewsLimit) {
+        this.mRecycledEventViewsLimit = mRecycledEventViewsLimit;
+    }
+
+    public int getRecycledChannelIndicatorViewsLimit() {
+        return mRecycledChannelIndicatorViewsLimit;
+    }
+
+    public void setRecycledChannelIndicatorViewsLimit(int mRecycledChannelIndicatorViewsLimit) {
+        this.mRecycledChannelIndicatorViewsLimit = mRecycledChannelIndicatorViewsLimit;
+    }
+
+    public boolean isPrefetchEnabled() {
+        return mPrefetchEnabled;
+    }
+
+    public void setPrefetchEnabled(boolean mPrefetchEnabled) {
+        this.mPrefetchEnabled = mPrefetchEnabled;
+        if (!mPrefetchEnabled) {
+            mPrefetcher.cancel();
+            mRecycler.recyclePrefetchedViews();
+        }
+    }
 }
\ No newline at end of file
@@ -3,9 +3,9 @@ package com.epg;
 import android.content.Context;
 import android.graphics.Rect;
 import android.util.AttributeSet;
-import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.view.accessibility.AccessibilityEvent;
 
 import java.util.Calendar;
@@ -23,6 +23,14 @@ public abstract class GuideAdapterView<T extends BaseGuideAdapter> extends ViewG
      * number of items in the current adapter.
      */
     public static final int INVALID_POSITION = -1;
+    /**
+     * Represents an invalid time in minutes since epoch
+     */
+    public static final long INVALID_TIME = Long.MIN_VALUE;
+    /**
+     * Represents an invalid id of channel or event
+     */
+    public static final long INVALID_ID = Long.MIN_VALUE;
 
     /**
      * When set to true, calls to requestLayout() will not propagate up the parent hierarchy.
@@ -400,6 +408,13 @@ public abstract class GuideAdapterView<T extends BaseGuideAdapter> extends ViewG
         return (int) TimeUnit.MILLISECONDS.toMinutes(diffInMs);
     }
 
+    /**
+     * @return Calculated difference between two times, given in minutes since epoch
+     */
+    public static int calculateDiffInMinutes(long endTimeMinutes, long startTimeMinutes) {
+        return (int) Math.abs(endTimeMinutes - startTimeMinutes);
+    }
+
     /**
      * Calculates Y overlap value of 2 rectangles
      *
@@ -421,11 +436,25 @@ public abstract class GuideAdapterView<T extends BaseGuideAdapter> extends ViewG
     protected boolean isViewInvisible(Rect desiredRect, View view) {
         return view == null || view.getLeft() >= desiredRect.right
                 || view.getRight() <= desiredRect.left
-                || view.getTop() >= desiredRect.bottom
-                || view.getBottom() <= desiredRect.top;
+                || getTopInGuide(view) >= desiredRect.bottom
+                || getBottomInGuide(view) <= desiredRect.top;
     }
 
-    protected void log(String msg) {
-        Log.d(TAG, msg);
+    /**
+     * @return Top of view relative to guide, view can be direct child of guide or child of row container
+     */
+    int getTopInGuide(View view) {
+        final ViewParent parent = view.getParent();
+        if (parent != this && parent instanceof View) {
+            return ((View) parent).getTop() + view.getTop();
+        }
+        return view.getTop();
+    }
+
+    /**
+     * @return Bottom of view relative to guide, view can be direct child of guide or child of row container
+     */
+    int getBottomInGuide(View view) {
+        return getTopInGuide(view) + view.getHeight();
     }
 }
\ No newline at end of file
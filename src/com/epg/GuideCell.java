@@ -0,0 +1,37 @@
+package com.epg;
+
+import android.graphics.Rect;
+
+/**
+ * Holds position of event that is drawn by {@link GuideCellRenderer} instead of being represented by a view.
+ * Instances are reused between layout passes.
+ */
+class GuideCell {
+    private int mChannelIndex;
+    private int mEventIndex;
+    private final Rect mBounds = new Rect();
+
+    void set(int channelIndex, int eventIndex, int left, int top, int right, int bottom) {
+        mChannelIndex = channelIndex;
+        mEventIndex = eventIndex;
+        mBounds.set(left, top, right, bottom);
+    }
+
+    @Override
+    public String toString() {
+        return "GuideCell [mChannelIndex=" + mChannelIndex + ", mEventIndex=" + mEventIndex + ", mBounds=" + mBounds
+                + "]";
+    }
+
+    public int getChannelIndex() {
+        return mChannelIndex;
+    }
+
+    public int getEventIndex() {
+        return mEventIndex;
+    }
+
+    public Rect getBounds() {
+        return mBounds;
+    }
+}
@@ -0,0 +1,20 @@
+package com.epg;
+
+import android.graphics.Canvas;
+import android.graphics.Rect;
+
+/**
+ * Draws guide events directly on guide canvas. If adapter supplies cell renderer, guide does not create views for
+ * events, it only creates real view for selected event.
+ */
+public interface GuideCellRenderer {
+    /**
+     * Draw background and title of desired event.
+     *
+     * @param canvas  Canvas to draw on, it is already clipped to events area
+     * @param channel Index of channel
+     * @param event   Index of event
+     * @param bounds  Bounds of event on screen, should not be modified
+     */
+    void drawEvent(Canvas canvas, int channel, int event, Rect bounds);
+}
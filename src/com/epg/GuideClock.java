@@ -0,0 +1,22 @@
+package com.epg;
+
+/**
+ * Source of current time used by guide for time line indicator, clock ticks and on now refresh. Custom clock can be
+ * set to guide to get deterministic behaviour, for example in benchmarks.
+ */
+public interface GuideClock {
+    /**
+     * Clock that returns system time
+     */
+    GuideClock SYSTEM = new GuideClock() {
+        @Override
+        public long currentTimeMillis() {
+            return System.currentTimeMillis();
+        }
+    };
+
+    /**
+     * @return Current time in milliseconds since epoch
+     */
+    long currentTimeMillis();
+}
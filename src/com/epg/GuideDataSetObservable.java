@@ -19,6 +19,18 @@ public class GuideDataSetObservable extends Observable<GuideDataSetObserver> {
         }
     }
 
+    /**
+     * Invokes {@link GuideDataSetObserver#onChangedChannelRange} on each observer.
+     * Called when the contents of channels in range have changed, but their ids and positions are the same.
+     */
+    public void notifyChangedChannelRange(final int channelStart, final int channelCount) {
+        synchronized (mObservers) {
+            for (int i = mObservers.size() - 1; i >= 0; i--) {
+                mObservers.get(i).onChangedChannelRange(channelStart, channelCount);
+            }
+        }
+    }
+
     /**
      * Invokes {@link GuideDataSetObserver#onChangedEventList} on each observer.
      * Called when the contents of the event data set for channel index have changed. The recipient
@@ -32,6 +44,18 @@ public class GuideDataSetObservable extends Observable<GuideDataSetObserver> {
         }
     }
 
+    /**
+     * Invokes {@link GuideDataSetObserver#onChangedEventRange} on each observer.
+     * Called when the contents of events in range have changed, but their ids and widths are the same.
+     */
+    public void notifyChangedEventRange(final int channelIndex, final int eventStart, final int eventCount) {
+        synchronized (mObservers) {
+            for (int i = mObservers.size() - 1; i >= 0; i--) {
+                mObservers.get(i).onChangedEventRange(channelIndex, eventStart, eventCount);
+            }
+        }
+    }
+
     /**
      * Invokes {@link GuideDataSetObserver#onChangedStartOrEndTime} on each observer.
      * Called when the start or end time has been changed.
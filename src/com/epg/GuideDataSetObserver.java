@@ -15,6 +15,14 @@ public abstract class GuideDataSetObserver {
         // Do nothing
     }
 
+    /**
+     * This method is called when content of channels in range is changed, but channels keep their ids and positions.
+     * By default whole channel list is treated as changed.
+     */
+    public void onChangedChannelRange(int channelStart, int channelCount) {
+        onChangedServiceList();
+    }
+
     /**
      * This method is called when the entire event data set for one channel has changed.
      */
@@ -22,6 +30,14 @@ public abstract class GuideDataSetObserver {
         // Do nothing
     }
 
+    /**
+     * This method is called when content of events in range is changed, but events keep their ids and widths.
+     * By default whole event list of channel is treated as changed.
+     */
+    public void onChangedEventRange(int channelIndex, int eventStart, int eventCount) {
+        onChangedEventList(channelIndex);
+    }
+
     /**
      * This method is called when start or end time is changed
      */
@@ -0,0 +1,272 @@
+package com.epg;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Calculates difference between two guide snapshots and dispatches minimal set of change notifications to adapter.
+ * Calculation does not touch adapter or views, so it can run on background thread, only dispatching must be done on
+ * UI thread. Channels and events are matched by their stable ids.
+ */
+public class GuideDiff {
+    private static Executor sExecutor;
+
+    /**
+     * Listener that receives result of diff calculated in background
+     */
+    public interface OnDiffCalculatedListener {
+        /**
+         * Called on UI thread
+         *
+         * @param result Calculated difference
+         */
+        void onDiffCalculated(Result result);
+    }
+
+    private GuideDiff() {
+    }
+
+    /**
+     * Calculate difference on background thread and deliver it on UI thread
+     */
+    public static void calculateInBackground(final GuideSnapshot oldSnapshot, final GuideSnapshot newSnapshot,
+            final OnDiffCalculatedListener listener) {
+        final Handler handler = new Handler(Looper.getMainLooper());
+        getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Result result = calculate(oldSnapshot, newSnapshot);
+                handler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        listener.onDiffCalculated(result);
+                    }
+                });
+            }
+        });
+    }
+
+    private static synchronized Executor getExecutor() {
+        if (sExecutor == null) {
+            sExecutor = Executors.newSingleThreadExecutor();
+        }
+        return sExecutor;
+    }
+
+    /**
+     * Calculate difference between snapshots, can be called from any thread
+     */
+    public static Result calculate(GuideSnapshot oldSnapshot, GuideSnapshot newSnapshot) {
+        final Result result = new Result();
+        result.mStartOrEndTimeChanged = oldSnapshot.getStartTime() != newSnapshot.getStartTime()
+                || oldSnapshot.getEndTime() != newSnapshot.getEndTime();
+
+        final int channelsCount = newSnapshot.getChannelsCount();
+        result.mChannelListChanged = channelsCount != oldSnapshot.getChannelsCount();
+        for (int i = 0; i < channelsCount && !result.mChannelListChanged; i++) {
+            result.mChannelListChanged = oldSnapshot.getChannelId(i) != newSnapshot.getChannelId(i);
+        }
+        // Old positions of channels are needed only if channels moved
+        HashMap<Long, Integer> oldChannelPositions = null;
+        if (result.mChannelListChanged) {
+            oldChannelPositions = new HashMap<Long, Integer>();
+            for (int i = oldSnapshot.getChannelsCount() - 1; i >= 0; i--) {
+                oldChannelPositions.put(oldSnapshot.getChannelId(i), i);
+            }
+        }
+        int rangeStart = GuideAdapterView.INVALID_POSITION;
+        int oldChannel;
+        Integer oldPosition;
+        boolean changed;
+        for (int i = 0; i < channelsCount; i++) {
+            if (oldChannelPositions == null) {
+                oldChannel = i;
+            } else {
+                oldPosition = oldChannelPositions.get(newSnapshot.getChannelId(i));
+                oldChannel = oldPosition == null ? GuideAdapterView.INVALID_POSITION : oldPosition;
+            }
+            // New channel is bound from scratch after channel list change
+            changed = oldChannel != GuideAdapterView.INVALID_POSITION
+                    && oldSnapshot.getChannelContentHash(oldChannel) != newSnapshot.getChannelContentHash(i);
+            if (changed && rangeStart == GuideAdapterView.INVALID_POSITION) {
+                rangeStart = i;
+            } else if (!changed && rangeStart != GuideAdapterView.INVALID_POSITION) {
+                result.mChangedChannelRanges.add(new int[] { rangeStart, i - rangeStart });
+                rangeStart = GuideAdapterView.INVALID_POSITION;
+            }
+            if (oldChannel != GuideAdapterView.INVALID_POSITION) {
+                diffEvents(oldSnapshot, oldChannel, newSnapshot, i, result);
+            }
+        }
+        if (rangeStart != GuideAdapterView.INVALID_POSITION) {
+            result.mChangedChannelRanges.add(new int[] { rangeStart, channelsCount - rangeStart });
+        }
+        return result;
+    }
+
+    /**
+     * Compare events of one channel. Changed ids or widths change event list of channel, changed content of events
+     * with the same id is reported as ranges.
+     */
+    private static void diffEvents(GuideSnapshot oldSnapshot, int oldChannel, GuideSnapshot newSnapshot,
+            int channel, Result result) {
+        final int eventsCount = newSnapshot.getEventsCount(channel);
+        boolean eventListChanged = eventsCount != oldSnapshot.getEventsCount(oldChannel);
+        for (int j = 0; j < eventsCount && !eventListChanged; j++) {
+            eventListChanged = oldSnapshot.getEventId(oldChannel, j) != newSnapshot.getEventId(channel, j)
+                    || oldSnapshot.getEventWidth(oldChannel, j) != newSnapshot.getEventWidth(channel, j);
+        }
+        HashMap<Long, Integer> oldEventPositions = null;
+        if (eventListChanged) {
+            result.mChangedEventLists.add(channel);
+            oldEventPositions = new HashMap<Long, Integer>();
+            for (int j = oldSnapshot.getEventsCount(oldChannel) - 1; j >= 0; j--) {
+                oldEventPositions.put(oldSnapshot.getEventId(oldChannel, j), j);
+            }
+        }
+        int rangeStart = GuideAdapterView.INVALID_POSITION;
+        int oldEvent;
+        Integer oldPosition;
+        boolean changed;
+        for (int j = 0; j < eventsCount; j++) {
+            if (oldEventPositions == null) {
+                oldEvent = j;
+            } else {
+                oldPosition = oldEventPositions.get(newSnapshot.getEventId(channel, j));
+                oldEvent = oldPosition == null ? GuideAdapterView.INVALID_POSITION : oldPosition;
+            }
+            // New events are bound with event list change
+            changed = oldEvent != GuideAdapterView.INVALID_POSITION
+                    && oldSnapshot.getEventContentHash(oldChannel, oldEvent)
+                    != newSnapshot.getEventContentHash(channel, j);
+            if (changed && rangeStart == GuideAdapterView.INVALID_POSITION) {
+                rangeStart = j;
+            } else if (!changed && rangeStart != GuideAdapterView.INVALID_POSITION) {
+                result.mChangedEventRanges.add(new int[] { channel, rangeStart, j - rangeStart });
+                rangeStart = GuideAdapterView.INVALID_POSITION;
+            }
+        }
+        if (rangeStart != GuideAdapterView.INVALID_POSITION) {
+            result.mChangedEventRanges.add(new int[] { channel, rangeStart, eventsCount - rangeStart });
+        }
+    }
+
+    /**
+     * Difference between two snapshots
+     */
+    public static class Result {
+        private boolean mStartOrEndTimeChanged;
+        private boolean mChannelListChanged;
+        /**
+         * Ranges as first channel index and channels count
+         */
+        private final ArrayList<int[]> mChangedChannelRanges = new ArrayList<int[]>();
+        private final ArrayList<Integer> mChangedEventLists = new ArrayList<Integer>();
+        /**
+         * Ranges as channel index, first event index and events count
+         */
+        private final ArrayList<int[]> mChangedEventRanges = new ArrayList<int[]>();
+
+        Result() {
+        }
+
+        /**
+         * Notify adapter observers about changes, must be called on UI thread after adapter contains new data.
+         * Adapter without stable ids is notified only about channel list change, if channel list is changed.
+         */
+        public void dispatchTo(BaseGuideAdapter adapter) {
+            if (mStartOrEndTimeChanged) {
+                adapter.notifyStartOrEndTimeChanged();
+            }
+            if (mChannelListChanged) {
+                adapter.notifyChannelListChanged();
+                if (!adapter.hasStableIds()) {
+                    return;
+                }
+            }
+            int[] range;
+            for (int i = 0; i < mChangedChannelRanges.size(); i++) {
+                range = mChangedChannelRanges.get(i);
+                adapter.notifyChannelRangeChanged(range[0], range[1]);
+            }
+            for (int i = 0; i < mChangedEventLists.size(); i++) {
+                adapter.notifyEventListChanged(mChangedEventLists.get(i));
+            }
+            for (int i = 0; i < mChangedEventRanges.size(); i++) {
+                range = mChangedEventRanges.get(i);
+                adapter.notifyEventRangeChanged(range[0], range[1], range[2]);
+            }
+        }
+
+        /**
+         * @return TRUE if snapshots are the same
+         */
+        public boolean isEmpty() {
+            return !mStartOrEndTimeChanged && !mChannelListChanged && mChangedChannelRanges.isEmpty()
+                    && mChangedEventLists.isEmpty() && mChangedEventRanges.isEmpty();
+        }
+
+        public boolean isStartOrEndTimeChanged() {
+            return mStartOrEndTimeChanged;
+        }
+
+        public boolean isChannelListChanged() {
+            return mChannelListChanged;
+        }
+
+        /**
+         * @return Number of ranges of channels whose content is changed
+         */
+        public int getChangedChannelRangesCount() {
+            return mChangedChannelRanges.size();
+        }
+
+        /**
+         * @return Range as first channel index and channels count
+         */
+        public int[] getChangedChannelRange(int index) {
+            return mChangedChannelRanges.get(index).clone();
+        }
+
+        /**
+         * @return Number of channels whose event list is changed
+         */
+        public int getChangedEventListsCount() {
+            return mChangedEventLists.size();
+        }
+
+        /**
+         * @return Index of channel whose event list is changed
+         */
+        public int getChangedEventList(int index) {
+            return mChangedEventLists.get(index);
+        }
+
+        /**
+         * @return Number of ranges of events whose content is changed
+         */
+        public int getChangedEventRangesCount() {
+            return mChangedEventRanges.size();
+        }
+
+        /**
+         * @return Range as channel index, first event index and events count
+         */
+        public int[] getChangedEventRange(int index) {
+            return mChangedEventRanges.get(index).clone();
+        }
+
+        @Override
+        public String toString() {
+            return "GuideDiff.Result [mStartOrEndTimeChanged=" + mStartOrEndTimeChanged + ", mChannelListChanged="
+                    + mChannelListChanged + ", mChangedChannelRanges=" + mChangedChannelRanges.size()
+                    + ", mChangedEventLists=" + mChangedEventLists.size()
+                    + ", mChangedEventRanges=" + mChangedEventRanges.size() + "]";
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.epg;
+
+import android.util.SparseArray;
+
+/**
+ * Cumulative start offsets of events in minutes, one array per channel. Offsets are calculated lazily from adapter
+ * and kept until event list of channel changes, so event at desired X coordinate is found with binary search instead
+ * of summing event widths.
+ */
+class GuideEventOffsets {
+    private final SparseArray<int[]> mOffsets = new SparseArray<int[]>();
+
+    /**
+     * @return Offsets of desired channel, element at index i is start of event i and last element is end of last
+     * event
+     */
+    int[] get(BaseGuideAdapter adapter, int channel) {
+        int[] offsets = mOffsets.get(channel);
+        if (offsets == null) {
+            final int count = adapter.getEventsCount(channel);
+            offsets = new int[count + 1];
+            for (int i = 0; i < count; i++) {
+                offsets[i + 1] = offsets[i] + adapter.getEventWidth(channel, i);
+            }
+            mOffsets.put(channel, offsets);
+        }
+        return offsets;
+    }
+
+    /**
+     * @return Start offset of event in minutes
+     */
+    int getEventStart(BaseGuideAdapter adapter, int channel, int event) {
+        return get(adapter, channel)[event];
+    }
+
+    /**
+     * Find event that contains desired offset
+     *
+     * @param offset Offset from beginning of guide in minutes
+     * @return Index of event or {@link GuideAdapterView#INVALID_POSITION} if offset is outside of all events
+     */
+    int findEvent(BaseGuideAdapter adapter, int channel, int offset) {
+        return GuideNavigation.findEvent(get(adapter, channel), offset);
+    }
+
+    void invalidate(int channel) {
+        mOffsets.remove(channel);
+    }
+
+    void clear() {
+        mOffsets.clear();
+    }
+}
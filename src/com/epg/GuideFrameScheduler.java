@@ -0,0 +1,62 @@
+package com.epg;
+
+import android.view.Choreographer;
+import android.view.View;
+
+/**
+ * Source of frame callbacks and frame time used by smooth scroll and prefetch. Guide uses Choreographer by default,
+ * replay installs its own scheduler so frames are produced at fixed, scripted times.
+ */
+interface GuideFrameScheduler {
+    /**
+     * Scheduler that posts callbacks to Choreographer of the current thread
+     */
+    GuideFrameScheduler CHOREOGRAPHER = new GuideFrameScheduler() {
+        @Override
+        public void postFrameCallback(Choreographer.FrameCallback callback) {
+            Choreographer.getInstance().postFrameCallback(callback);
+        }
+
+        @Override
+        public void removeFrameCallback(Choreographer.FrameCallback callback) {
+            Choreographer.getInstance().removeFrameCallback(callback);
+        }
+
+        @Override
+        public void postAfterFrame(View view, Runnable runnable) {
+            // Message is handled after traversal of this frame is done
+            view.post(runnable);
+        }
+
+        @Override
+        public void removeAfterFrame(View view, Runnable runnable) {
+            view.removeCallbacks(runnable);
+        }
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+    };
+
+    /**
+     * Run callback once at the start of the next frame
+     */
+    void postFrameCallback(Choreographer.FrameCallback callback);
+
+    void removeFrameCallback(Choreographer.FrameCallback callback);
+
+    /**
+     * Run runnable once after the current frame is drawn
+     *
+     * @param view View that requested the run
+     */
+    void postAfterFrame(View view, Runnable runnable);
+
+    void removeAfterFrame(View view, Runnable runnable);
+
+    /**
+     * @return Current time in nanoseconds, in the same time base as frame time passed to callbacks
+     */
+    long nanoTime();
+}
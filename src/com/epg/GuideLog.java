@@ -0,0 +1,158 @@
+package com.epg;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import java.util.Locale;
+
+/**
+ * Event log of guide. Events are recorded as event id and integer arguments, they are formatted only when they are
+ * printed to logcat or dumped. Recent events are kept in fixed size ring buffer, so they can be dumped after jank is
+ * reported. Levels are the same as android.util.Log priorities.
+ */
+public final class GuideLog {
+    private static final String TAG = "GuideView";
+    /**
+     * Level that disables logging
+     */
+    public static final int LEVEL_OFF = Integer.MAX_VALUE;
+    /**
+     * Number of events kept in ring buffer
+     */
+    static final int RING_BUFFER_SIZE = 256;
+    private static final int ARGS_PER_EVENT = 3;
+
+    /**
+     * Guide events
+     */
+    static final int EVENT_MEASURE = 0;
+    static final int EVENT_LAYOUT = 1;
+    static final int EVENT_ROW_HEIGHTS = 2;
+    static final int EVENT_EVENT_LIST_CHANGED = 3;
+    static final int EVENT_KEY_DOWN = 4;
+    static final int EVENT_KEY_UP = 5;
+    static final int EVENT_TRANSITION_EVENT_INFO = 6;
+
+    /**
+     * Formats of events, index is event id
+     */
+    private static final String[] FORMATS = {
+            "onMeasure width=%d height=%d",
+            "onLayout changed=%d",
+            "rowHeight=%d expandedRowHeight=%d eventsAreaHeight=%d",
+            "onChangedEventList channelIndex=%d",
+            "onKeyDown keyCode=%d scrollState=%d longPress=%d",
+            "onKeyUp keyCode=%d scrollState=%d longPress=%d",
+            "transition event channelIndex=%d startWidth=%d endWidth=%d"
+    };
+    private static final int[] LEVELS = {
+            Log.VERBOSE,
+            Log.VERBOSE,
+            Log.DEBUG,
+            Log.DEBUG,
+            Log.DEBUG,
+            Log.DEBUG,
+            Log.DEBUG
+    };
+
+    private static int sLogcatLevel = LEVEL_OFF;
+    private static int sRecordLevel = Log.DEBUG;
+    private static final long[] sTimes = new long[RING_BUFFER_SIZE];
+    private static final int[] sEvents = new int[RING_BUFFER_SIZE];
+    private static final int[] sArgs = new int[RING_BUFFER_SIZE * ARGS_PER_EVENT];
+    private static int sNext = 0;
+    private static int sSize = 0;
+
+    private GuideLog() {
+    }
+
+    static void log(int event) {
+        log(event, 0, 0, 0);
+    }
+
+    static void log(int event, int arg1) {
+        log(event, arg1, 0, 0);
+    }
+
+    static void log(int event, int arg1, int arg2) {
+        log(event, arg1, arg2, 0);
+    }
+
+    /**
+     * Record event to ring buffer and print it to logcat, depending on configured levels
+     *
+     * @param event One of EVENT_* constants
+     */
+    static void log(int event, int arg1, int arg2, int arg3) {
+        final int level = LEVELS[event];
+        if (level >= sRecordLevel) {
+            record(event, arg1, arg2, arg3);
+        }
+        if (level >= sLogcatLevel) {
+            Log.println(level, TAG, format(event, arg1, arg2, arg3));
+        }
+    }
+
+    private static synchronized void record(int event, int arg1, int arg2, int arg3) {
+        sTimes[sNext] = SystemClock.uptimeMillis();
+        sEvents[sNext] = event;
+        final int argsIndex = sNext * ARGS_PER_EVENT;
+        sArgs[argsIndex] = arg1;
+        sArgs[argsIndex + 1] = arg2;
+        sArgs[argsIndex + 2] = arg3;
+        sNext = (sNext + 1) % RING_BUFFER_SIZE;
+        if (sSize < RING_BUFFER_SIZE) {
+            sSize++;
+        }
+    }
+
+    private static String format(int event, int arg1, int arg2, int arg3) {
+        return String.format(Locale.US, FORMATS[event], arg1, arg2, arg3);
+    }
+
+    /**
+     * @return Recorded events from oldest to newest, one per line, prefixed with uptime in milliseconds
+     */
+    public static synchronized String dump() {
+        StringBuilder sb = new StringBuilder();
+        int index = (sNext - sSize + RING_BUFFER_SIZE) % RING_BUFFER_SIZE;
+        for (int i = 0; i < sSize; i++) {
+            final int argsIndex = index * ARGS_PER_EVENT;
+            sb.append(sTimes[index]).append(' ')
+                    .append(format(sEvents[index], sArgs[argsIndex], sArgs[argsIndex + 1], sArgs[argsIndex + 2]))
+                    .append('\n');
+            index = (index + 1) % RING_BUFFER_SIZE;
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Remove all recorded events
+     */
+    public static synchronized void clear() {
+        sNext = 0;
+        sSize = 0;
+    }
+
+    public static int getLogcatLevel() {
+        return sLogcatLevel;
+    }
+
+    /**
+     * @param level Minimal level of events printed to logcat, or LEVEL_OFF
+     */
+    public static void setLogcatLevel(int level) {
+        sLogcatLevel = level;
+    }
+
+    public static int getRecordLevel() {
+        return sRecordLevel;
+    }
+
+    /**
+     * @param level Minimal level of events recorded to ring buffer, or LEVEL_OFF
+     */
+    public static void setRecordLevel(int level) {
+        sRecordLevel = level;
+    }
+}
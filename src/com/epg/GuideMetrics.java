@@ -0,0 +1,276 @@
+package com.epg;
+
+import java.util.Locale;
+
+/**
+ * Per frame performance metrics of guide. Times and counters are collected during one frame and aggregated into
+ * histograms when frame is drawn. Metrics are disabled by default and cost only one boolean check while disabled.
+ */
+public class GuideMetrics {
+    /**
+     * Time metrics
+     */
+    public static final int TIME_CALCULATE_ROW_POSITIONS = 0;
+    public static final int TIME_LAYOUT_EVENTS = 1;
+    public static final int TIME_LAYOUT_CHANNEL_INDICATORS = 2;
+    public static final int TIME_ADAPTER_GET_VIEW = 3;
+    public static final int TIME_DISPATCH_DRAW = 4;
+    public static final int TIME_DRAW_TIME_LINE = 5;
+    static final int TIME_METRICS_COUNT = 6;
+    /**
+     * Counter metrics
+     */
+    public static final int COUNT_VIEWS_CREATED = 0;
+    public static final int COUNT_VIEWS_REBOUND = 1;
+    public static final int COUNT_VIEWS_RECYCLED = 2;
+    static final int COUNT_METRICS_COUNT = 3;
+
+    private static final String[] TIME_METRIC_NAMES = { "calculateRowPositions", "layoutEvents",
+            "layoutChannelIndicators", "adapterGetView", "dispatchDraw", "drawTimeLine" };
+    private static final String[] COUNT_METRIC_NAMES = { "viewsCreated", "viewsRebound", "viewsRecycled" };
+
+    /**
+     * Time histograms have buckets of 50us up to 32ms
+     */
+    private static final int TIME_BUCKET_WIDTH_US = 50;
+    private static final int TIME_BUCKETS_COUNT = 640;
+    /**
+     * Counter histograms have one bucket per value up to 128
+     */
+    private static final int COUNT_BUCKETS_COUNT = 128;
+
+    /**
+     * Listener that is notified after every drawn frame
+     */
+    public interface OnFrameMetricsListener {
+        /**
+         * Called after frame is drawn. Values of frame can be read with {@link #getFrameTimeNs(int)} and
+         * {@link #getFrameCount(int)} only during this call.
+         *
+         * @param metrics Metrics of guide
+         */
+        void onFrameMetrics(GuideMetrics metrics);
+    }
+
+    private boolean mEnabled = false;
+    private OnFrameMetricsListener mOnFrameMetricsListener;
+    private final long[] mFrameTimesNs = new long[TIME_METRICS_COUNT];
+    private final int[] mFrameCounts = new int[COUNT_METRICS_COUNT];
+    private final Histogram[] mTimeHistograms = new Histogram[TIME_METRICS_COUNT];
+    private final Histogram[] mCountHistograms = new Histogram[COUNT_METRICS_COUNT];
+    private long mFramesCount = 0;
+
+    GuideMetrics() {
+        for (int i = 0; i < TIME_METRICS_COUNT; i++) {
+            mTimeHistograms[i] = new Histogram(TIME_BUCKET_WIDTH_US, TIME_BUCKETS_COUNT);
+        }
+        for (int i = 0; i < COUNT_METRICS_COUNT; i++) {
+            mCountHistograms[i] = new Histogram(1, COUNT_BUCKETS_COUNT);
+        }
+    }
+
+    /**
+     * @return Start time that should be passed to {@link #stop(int, long)}, or 0 if metrics are disabled
+     */
+    long start() {
+        return mEnabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Add time passed from start to current frame value of metric
+     *
+     * @param metric One of TIME_* constants
+     * @param start  Value returned from {@link #start()}
+     */
+    void stop(int metric, long start) {
+        if (mEnabled && start != 0) {
+            mFrameTimesNs[metric] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Increment current frame value of counter
+     *
+     * @param counter One of COUNT_* constants
+     */
+    void count(int counter) {
+        if (mEnabled) {
+            mFrameCounts[counter]++;
+        }
+    }
+
+    /**
+     * Aggregate values of current frame into histograms and start new frame
+     */
+    void onFrameDrawn() {
+        if (!mEnabled) {
+            return;
+        }
+        int i;
+        for (i = 0; i < TIME_METRICS_COUNT; i++) {
+            mTimeHistograms[i].add(mFrameTimesNs[i] / 1000);
+        }
+        for (i = 0; i < COUNT_METRICS_COUNT; i++) {
+            mCountHistograms[i].add(mFrameCounts[i]);
+        }
+        mFramesCount++;
+        if (mOnFrameMetricsListener != null) {
+            mOnFrameMetricsListener.onFrameMetrics(this);
+        }
+        for (i = 0; i < TIME_METRICS_COUNT; i++) {
+            mFrameTimesNs[i] = 0;
+        }
+        for (i = 0; i < COUNT_METRICS_COUNT; i++) {
+            mFrameCounts[i] = 0;
+        }
+    }
+
+    /**
+     * Clear all collected values
+     */
+    public void reset() {
+        int i;
+        for (i = 0; i < TIME_METRICS_COUNT; i++) {
+            mFrameTimesNs[i] = 0;
+            mTimeHistograms[i].clear();
+        }
+        for (i = 0; i < COUNT_METRICS_COUNT; i++) {
+            mFrameCounts[i] = 0;
+            mCountHistograms[i].clear();
+        }
+        mFramesCount = 0;
+    }
+
+    /**
+     * @return Metrics in text format, one line per metric: name count p50 p95 p99 max. Times are in microseconds.
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("GuideMetrics frames=").append(mFramesCount).append('\n');
+        sb.append("metric count p50 p95 p99 max\n");
+        int i;
+        for (i = 0; i < TIME_METRICS_COUNT; i++) {
+            dumpHistogram(sb, TIME_METRIC_NAMES[i] + "_us", mTimeHistograms[i]);
+        }
+        for (i = 0; i < COUNT_METRICS_COUNT; i++) {
+            dumpHistogram(sb, COUNT_METRIC_NAMES[i], mCountHistograms[i]);
+        }
+        return sb.toString();
+    }
+
+    private void dumpHistogram(StringBuilder sb, String name, Histogram histogram) {
+        sb.append(String.format(Locale.US, "%s %d %d %d %d %d\n", name, histogram.getCount(),
+                histogram.getPercentile(50), histogram.getPercentile(95), histogram.getPercentile(99),
+                histogram.getMax()));
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        mEnabled = enabled;
+    }
+
+    public long getFramesCount() {
+        return mFramesCount;
+    }
+
+    /**
+     * @param metric One of TIME_* constants
+     * @return Time spent in metric during current frame in nanoseconds
+     */
+    public long getFrameTimeNs(int metric) {
+        return mFrameTimesNs[metric];
+    }
+
+    /**
+     * @param counter One of COUNT_* constants
+     * @return Value of counter in current frame
+     */
+    public int getFrameCount(int counter) {
+        return mFrameCounts[counter];
+    }
+
+    /**
+     * @param metric One of TIME_* constants
+     * @return Histogram of per frame times in microseconds
+     */
+    public Histogram getTimeHistogram(int metric) {
+        return mTimeHistograms[metric];
+    }
+
+    /**
+     * @param counter One of COUNT_* constants
+     * @return Histogram of per frame counter values
+     */
+    public Histogram getCountHistogram(int counter) {
+        return mCountHistograms[counter];
+    }
+
+    public OnFrameMetricsListener getOnFrameMetricsListener() {
+        return mOnFrameMetricsListener;
+    }
+
+    public void setOnFrameMetricsListener(OnFrameMetricsListener onFrameMetricsListener) {
+        mOnFrameMetricsListener = onFrameMetricsListener;
+    }
+
+    /**
+     * Histogram with fixed width buckets. Values above last bucket are counted in last bucket, their exact maximum is
+     * still kept.
+     */
+    public static class Histogram {
+        private final int mBucketWidth;
+        private final int[] mBuckets;
+        private int mCount = 0;
+        private long mMax = 0;
+
+        Histogram(int bucketWidth, int bucketsCount) {
+            mBucketWidth = bucketWidth;
+            mBuckets = new int[bucketsCount];
+        }
+
+        void add(long value) {
+            final int index = (int) Math.min(mBuckets.length - 1, Math.max(0, value / mBucketWidth));
+            mBuckets[index]++;
+            mCount++;
+            mMax = Math.max(mMax, value);
+        }
+
+        void clear() {
+            for (int i = 0; i < mBuckets.length; i++) {
+                mBuckets[i] = 0;
+            }
+            mCount = 0;
+            mMax = 0;
+        }
+
+        /**
+         * @param percentile Percentile from 0 to 100
+         * @return Upper bound of bucket that contains desired percentile, capped to maximal value
+         */
+        public long getPercentile(int percentile) {
+            if (mCount == 0) {
+                return 0;
+            }
+            final long target = Math.max(1, ((long) mCount * percentile + 99) / 100);
+            long sum = 0;
+            for (int i = 0; i < mBuckets.length; i++) {
+                sum += mBuckets[i];
+                if (sum >= target) {
+                    return i == mBuckets.length - 1 ? mMax : Math.min(mMax, (long) (i + 1) * mBucketWidth - 1);
+                }
+            }
+            return mMax;
+        }
+
+        public int getCount() {
+            return mCount;
+        }
+
+        public long getMax() {
+            return mMax;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.epg;
+
+import java.util.Arrays;
+
+/**
+ * Key navigation rules of guide that do not depend on views: long press fast scroll throttling, time that stays
+ * focused while selection moves between channels and event that covers focused time. Guide applies results to its
+ * views, rules themselves use only plain Java so they can be replayed in JVM tests without device.
+ */
+class GuideNavigation {
+    static final int ACTION_NONE = 0;
+    /**
+     * Move selection one channel with normal smooth scroll
+     */
+    static final int ACTION_STEP = 1;
+    static final int ACTION_START_FAST_SCROLL = 2;
+    /**
+     * Move fast scroll one more channel
+     */
+    static final int ACTION_CONTINUE_FAST_SCROLL = 3;
+    static final int ACTION_END_FAST_SCROLL = 4;
+
+    /**
+     * Minimum time between two channel moves of fast scroll, slightly shorter than fast scroll so key repeats do not
+     * wait for previous move to finish
+     */
+    static final int FAST_SCROLL_INTERVAL = BaseGuideView.SMOOTH_FAST_SCROLL_DURATION - 60;
+
+    private boolean mInLongPress = false;
+    private long mLongPressTime = 0;
+
+    boolean isInLongPress() {
+        return mInLongPress;
+    }
+
+    /**
+     * Called for every key down event, including key repeats
+     *
+     * @param longPress TRUE if key event is marked as long press
+     */
+    void onKeyDown(boolean longPress) {
+        if (longPress) {
+            mInLongPress = true;
+        }
+    }
+
+    /**
+     * @param eventTime   Time of key event in milliseconds
+     * @param scrollState Current scroll state of guide
+     * @return Action guide should do for UP/DOWN key down
+     */
+    int getVerticalKeyAction(long eventTime, int scrollState) {
+        if (!mInLongPress) {
+            return ACTION_STEP;
+        }
+        if (eventTime - mLongPressTime <= FAST_SCROLL_INTERVAL) {
+            return ACTION_NONE;
+        }
+        mLongPressTime = eventTime;
+        if (scrollState == BaseGuideView.SCROLL_STATE_NORMAL) {
+            return ACTION_START_FAST_SCROLL;
+        } else if (scrollState == BaseGuideView.SCROLL_STATE_FAST_SCROLL) {
+            return ACTION_CONTINUE_FAST_SCROLL;
+        }
+        return ACTION_NONE;
+    }
+
+    /**
+     * Called for every key up event, long press ends with any key
+     *
+     * @param vertical    TRUE if UP/DOWN key is released and guide handles it
+     * @param scrollState Current scroll state of guide
+     * @return Action guide should do
+     */
+    int onKeyUp(boolean vertical, int scrollState) {
+        mInLongPress = false;
+        return vertical && scrollState == BaseGuideView.SCROLL_STATE_FAST_SCROLL ? ACTION_END_FAST_SCROLL
+                : ACTION_NONE;
+    }
+
+    /**
+     * @param selectedEventIndex Index of selected event
+     * @param eventsCount        Number of events of selected channel
+     * @param right              TRUE for RIGHT key, FALSE for LEFT key
+     * @return Index of event that is selected next, or INVALID_POSITION if there is no such event
+     */
+    static int getNextEventIndex(int selectedEventIndex, int eventsCount, boolean right) {
+        final int eventIndex = selectedEventIndex + (right ? 1 : -1);
+        return eventIndex < 0 || eventIndex >= eventsCount ? GuideAdapterView.INVALID_POSITION : eventIndex;
+    }
+
+    /**
+     * @param x              X coordinate in guide
+     * @param eventsAreaLeft Left edge of events area
+     * @param offsetX        Current horizontal scroll of guide
+     * @param oneMinuteWidth Width of one minute in pixels
+     * @return Time under desired coordinate in minutes from start of guide
+     */
+    static int getTimeAtX(int x, int eventsAreaLeft, int offsetX, int oneMinuteWidth) {
+        return Math.max(0, (x - eventsAreaLeft + offsetX) / oneMinuteWidth);
+    }
+
+    /**
+     * Only visible part of selected event is used, center of event wider than screen can be off screen
+     *
+     * @param left            Left edge of selected event
+     * @param right           Right edge of selected event
+     * @param eventsAreaLeft  Left edge of events area
+     * @param eventsAreaRight Right edge of events area
+     * @param selectionX      X coordinate of fixed selection, used if event is not visible
+     * @return X coordinate whose time stays focused when selection leaves event
+     */
+    static int getFocusedX(int left, int right, int eventsAreaLeft, int eventsAreaRight, int selectionX) {
+        left = Math.max(left, eventsAreaLeft);
+        right = Math.min(right, eventsAreaRight);
+        return left < right ? (left + right) / 2 : selectionX;
+    }
+
+    /**
+     * Find event that contains desired time
+     *
+     * @param offsets Start offsets of events in minutes, last element is end of last event
+     * @param time    Time from beginning of guide in minutes
+     * @return Index of event or INVALID_POSITION if time is outside of all events
+     */
+    static int findEvent(int[] offsets, int time) {
+        if (time < 0 || time >= offsets[offsets.length - 1]) {
+            return GuideAdapterView.INVALID_POSITION;
+        }
+        int index = Arrays.binarySearch(offsets, time);
+        if (index < 0) {
+            // Insertion point is index of first event that starts after time
+            return -index - 2;
+        }
+        // Skip events with zero width that start at the same offset
+        while (index + 1 < offsets.length - 1 && offsets[index + 1] == time) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Find event that is selected at focused time when selection moves to channel
+     *
+     * @param offsets Start offsets of events in minutes, last element is end of last event
+     * @param time    Focused time from beginning of guide in minutes
+     * @return Index of event, first or last event if time is outside of channel events, or INVALID_POSITION if
+     * channel has no events
+     */
+    static int findEventAtFocusedTime(int[] offsets, int time) {
+        final int eventIndex = findEvent(offsets, time);
+        if (eventIndex != GuideAdapterView.INVALID_POSITION) {
+            return eventIndex;
+        }
+        final int eventsCount = offsets.length - 1;
+        if (eventsCount == 0) {
+            return GuideAdapterView.INVALID_POSITION;
+        }
+        return time < 0 ? 0 : eventsCount - 1;
+    }
+}
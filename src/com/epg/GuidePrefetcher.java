@@ -0,0 +1,129 @@
+package com.epg;
+
+import android.content.Context;
+import android.view.Choreographer;
+import android.view.WindowManager;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates and binds views that will enter the screen next, in direction of current scroll. Frame scheduler of guide is
+ * used to get start time of the frame and prefetch is posted to run after frame is drawn, so it only uses time that is
+ * left until the next frame.
+ */
+class GuidePrefetcher implements Choreographer.FrameCallback, Runnable {
+    /**
+     * Used if display refresh rate can not be read
+     */
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private WeakReference<BaseGuideView> mGuideViewWeakReference;
+    /**
+     * Duration of one frame in nanoseconds
+     */
+    private final long mFrameIntervalNs;
+    /**
+     * Start time of the frame in which prefetch is executed
+     */
+    private long mFrameTimeNs;
+    /**
+     * Scroll directions, -1, 0 or 1
+     */
+    private int mDirectionX, mDirectionY;
+    private boolean mScheduled = false;
+    /**
+     * Scheduler of guide at the time prefetch was scheduled
+     */
+    private GuideFrameScheduler mFrameScheduler = GuideFrameScheduler.CHOREOGRAPHER;
+    /**
+     * Running average of time needed to create and bind one view
+     */
+    private long mAverageBindTimeNs = 0;
+
+    GuidePrefetcher(BaseGuideView guideView) {
+        mGuideViewWeakReference = new WeakReference<BaseGuideView>(guideView);
+        float refreshRate = DEFAULT_REFRESH_RATE;
+        WindowManager windowManager = (WindowManager) guideView.getContext().getSystemService(
+                Context.WINDOW_SERVICE);
+        if (windowManager != null && windowManager.getDefaultDisplay() != null) {
+            refreshRate = windowManager.getDefaultDisplay().getRefreshRate();
+            if (refreshRate < 30f) {
+                refreshRate = DEFAULT_REFRESH_RATE;
+            }
+        }
+        mFrameIntervalNs = (long) (TimeUnit.SECONDS.toNanos(1) / refreshRate);
+    }
+
+    /**
+     * Schedule prefetch for the next frame
+     *
+     * @param directionX Horizontal scroll direction
+     * @param directionY Vertical scroll direction
+     */
+    void schedule(int directionX, int directionY) {
+        mDirectionX = directionX;
+        mDirectionY = directionY;
+        if (!mScheduled) {
+            final BaseGuideView guideView = mGuideViewWeakReference.get();
+            if (guideView != null) {
+                mScheduled = true;
+                mFrameScheduler = guideView.getFrameScheduler();
+                mFrameScheduler.postFrameCallback(this);
+            }
+        }
+    }
+
+    /**
+     * Cancel scheduled prefetch
+     */
+    void cancel() {
+        final BaseGuideView guideView = mGuideViewWeakReference.get();
+        mFrameScheduler.removeFrameCallback(this);
+        if (guideView != null) {
+            mFrameScheduler.removeAfterFrame(guideView, this);
+        }
+        mScheduled = false;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        final BaseGuideView guideView = mGuideViewWeakReference.get();
+        if (guideView == null) {
+            mScheduled = false;
+            return;
+        }
+        mFrameTimeNs = frameTimeNanos;
+        mFrameScheduler.postAfterFrame(guideView, this);
+    }
+
+    @Override
+    public void run() {
+        mScheduled = false;
+        final BaseGuideView guideView = mGuideViewWeakReference.get();
+        if (guideView == null || guideView.getAdapter() == null || !guideView.isShown()) {
+            return;
+        }
+        final long deadlineNs = mFrameTimeNs + mFrameIntervalNs;
+        if (hasTimeLeft(deadlineNs)) {
+            guideView.prefetch(mDirectionX, mDirectionY, deadlineNs);
+        }
+    }
+
+    /**
+     * @param deadlineNs Time until prefetch is allowed to run
+     * @return TRUE if one more view can be created and bound before deadline
+     */
+    boolean hasTimeLeft(long deadlineNs) {
+        return mFrameScheduler.nanoTime() + mAverageBindTimeNs < deadlineNs;
+    }
+
+    /**
+     * Update average bind time with time needed for last bound view
+     *
+     * @param bindTimeNs Time needed to create and bind view
+     */
+    void onViewBound(long bindTimeNs) {
+        mAverageBindTimeNs = mAverageBindTimeNs == 0 ? bindTimeNs : (mAverageBindTimeNs * 3 + bindTimeNs) / 4;
+    }
+}
@@ -1,27 +1,23 @@
 package com.epg;
 
 import android.graphics.Paint;
-import android.util.SparseArray;
 import android.view.View;
-import android.view.ViewGroup;
 import android.view.animation.Animation;
 import android.view.animation.Transformation;
 
 import java.lang.ref.WeakReference;
-import java.util.Calendar;
 
 /**
- * Animation used to expand guide from ON_NOW to FULL. It animates changing of guide width and also changes selected
- * event views width and position within guide.
+ * Animation used to expand guide from ON_NOW to FULL. Guide is laid out with its final width before animation starts,
+ * animation only translates guide from its ON_NOW position and transforms running event views, so there is no layout
+ * pass during animation.
  *
  * @author Branimir Pavlovic
  */
 public class GuideResizeAnimation extends Animation {
-    private WeakReference<BaseGuideView> mGuideViewWeakReference;
+    private WeakReference<GuideView> mGuideViewWeakReference;
     private WeakReference<Paint> mTimeLinePaintText;
-    private float mFromWidthGuide;
-    private float mToWidthGuide;
-    private WeakReference<SparseArray<GuideEventAnimInfo>> mEventsAnimationInfo;
+    private float mFromTranslationX;
     private WeakReference<View> mBackgroundViewWeakReference;
     private float mStartAlpha;
     private float mEndAlpha;
@@ -29,14 +25,13 @@ public class GuideResizeAnimation extends Animation {
     private int mTimeLineStartOffset, mTimeLineEndOffset;
     private boolean runTimeLineOffsetAnim = false;
 
-    public GuideResizeAnimation(GuideView guideView, float fromWidthGuide,
-            float toWidthGuide, SparseArray<GuideEventAnimInfo> eventsAnimationInfo, float startAlpha,
-            float endAlpha) {
-        this.mGuideViewWeakReference = new WeakReference<BaseGuideView>(guideView);
+    /**
+     * @param fromTranslationX Translation of guide laid out with FULL width, so its left edge is at ON_NOW position
+     */
+    public GuideResizeAnimation(GuideView guideView, float fromTranslationX, float startAlpha, float endAlpha) {
+        this.mGuideViewWeakReference = new WeakReference<GuideView>(guideView);
         this.mTimeLinePaintText = new WeakReference<Paint>(guideView.getTimeLinePaintText());
-        this.mFromWidthGuide = fromWidthGuide;
-        this.mToWidthGuide = toWidthGuide;
-        this.mEventsAnimationInfo = new WeakReference<SparseArray<GuideEventAnimInfo>>(eventsAnimationInfo);
+        this.mFromTranslationX = fromTranslationX;
         if (guideView.getBackgroundView() != null) {
             mBackgroundViewWeakReference = new WeakReference<View>(guideView.getBackgroundView());
             mStartAlpha = startAlpha;
@@ -48,35 +43,24 @@ public class GuideResizeAnimation extends Animation {
         if (guideView.getTimeLineSpecificOffset() != GuideAdapterView.INVALID_POSITION) {
             runTimeLineOffsetAnim = true;
             mTimeLineStartOffset = guideView.getTimeLineSpecificOffset();
-            Calendar calendar = Calendar.getInstance();
-            mTimeLineEndOffset = GuideView.calculateDiffInMinutes(calendar, guideView.getAdapter().getStartTime()) *
-                    guideView.getOneMinuteWidth() - guideView.mCurrentOffsetX;
+            mTimeLineEndOffset = guideView.calculateNowOffset() - guideView.mCurrentOffsetX;
         }
     }
 
     @Override
     protected void applyTransformation(float interpolatedTime, Transformation t) {
+        final GuideView view = mGuideViewWeakReference.get();
+        if (view == null) {
+            return;
+        }
         /**
-         * Calculate new width of guide
+         * Move guide from ON_NOW position to its final position
          */
-        int width = calculateCurrentValue(mFromWidthGuide, mToWidthGuide, interpolatedTime);
-        final BaseGuideView view = mGuideViewWeakReference.get();
-        ViewGroup.LayoutParams p = view.getLayoutParams();
-        p.width = width;
+        t.getMatrix().setTranslate(calculateCurrentValue(mFromTranslationX, 0, interpolatedTime), 0);
         /**
-         * Calculate new width of events and move it to new x coordinate
+         * Move and resize running events and their neighbours
          */
-        View eventView = null;
-        final SparseArray<GuideEventAnimInfo> events = mEventsAnimationInfo.get();
-        GuideEventAnimInfo animEventInfo;
-        for (int i = 0; i < events.size(); i++) {
-            animEventInfo = events.valueAt(i);
-            eventView = animEventInfo.getEventView();
-            BaseGuideView.LayoutParams params = (BaseGuideView.LayoutParams) eventView.getLayoutParams();
-            params.width = calculateCurrentValue(animEventInfo.getStartWidth(), animEventInfo.getEndWidth(),
-                    interpolatedTime);
-            params.mLeftCoordinate = calculateCurrentValue(0, animEventInfo.getEndPosition(), interpolatedTime);
-        }
+        view.applyTransitionTransformation(interpolatedTime);
         mTimeLinePaintText.get().setAlpha(calculateCurrentValue(0, 255, interpolatedTime));
         if (runAlphaAnim) {
             mBackgroundViewWeakReference.get()
@@ -87,7 +71,6 @@ public class GuideResizeAnimation extends Animation {
             view.setTimeLineSpecificOffset(
                     newOffset == mTimeLineEndOffset ? GuideView.INVALID_POSITION : newOffset);
         }
-        view.requestLayout();
     }
 
     @Override
@@ -0,0 +1,71 @@
+package com.epg;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * Lightweight container that holds event views of one channel row. It spans whole width of guide, so X coordinates
+ * of event views are the same as in guide, and Y coordinates are relative to top of the row. Vertical scroll moves
+ * only the container. Children are positioned by {@link BaseGuideView}, container never lays them out by itself.
+ */
+class GuideRowLayout extends ViewGroup {
+    private int mChannelIndex = GuideAdapterView.INVALID_POSITION;
+
+    GuideRowLayout(Context context) {
+        super(context);
+    }
+
+    @Override
+    protected void onLayout(boolean changed, int l, int t, int r, int b) {
+        // Event views are positioned by guide, only views that requested layout are laid out again in place
+        View child;
+        for (int i = getChildCount() - 1; i >= 0; i--) {
+            child = getChildAt(i);
+            if (child.isLayoutRequested()) {
+                child.measure(MeasureSpec.makeMeasureSpec(child.getWidth(), MeasureSpec.EXACTLY),
+                        MeasureSpec.makeMeasureSpec(child.getHeight(), MeasureSpec.EXACTLY));
+                child.layout(child.getLeft(), child.getTop(), child.getRight(), child.getBottom());
+            }
+        }
+    }
+
+    @Override
+    protected boolean drawChild(Canvas canvas, View child, long drawingTime) {
+        final ViewGroup.LayoutParams params = child.getLayoutParams();
+        if (!(params instanceof BaseGuideView.LayoutParams)
+                || ((BaseGuideView.LayoutParams) params).mClipWidth == GuideAdapterView.INVALID_POSITION) {
+            return super.drawChild(canvas, child, drawingTime);
+        }
+        // Clipping is done by row because View.setClipBounds is not available before API 18
+        final int saveCount = canvas.save();
+        final float left = child.getLeft() + child.getTranslationX();
+        canvas.clipRect(left, child.getTop(), left + ((BaseGuideView.LayoutParams) params).mClipWidth,
+                child.getBottom());
+        final boolean more = super.drawChild(canvas, child, drawingTime);
+        canvas.restoreToCount(saveCount);
+        return more;
+    }
+
+    @Override
+    public boolean shouldDelayChildPressedState() {
+        return false;
+    }
+
+    void addEventView(View view, ViewGroup.LayoutParams params) {
+        addViewInLayout(view, -1, params, true);
+    }
+
+    void removeEventView(View view) {
+        removeViewInLayout(view);
+    }
+
+    int getChannelIndex() {
+        return mChannelIndex;
+    }
+
+    void setChannelIndex(int channelIndex) {
+        mChannelIndex = channelIndex;
+    }
+}
@@ -0,0 +1,46 @@
+package com.epg;
+
+/**
+ * Immutable view of guide data used by {@link GuideDiff}. Snapshot can be read from background thread, so it must
+ * not change after it is created.
+ */
+public interface GuideSnapshot {
+    /**
+     * @return Start time of time line in milliseconds
+     */
+    long getStartTime();
+
+    /**
+     * @return End time of time line in milliseconds
+     */
+    long getEndTime();
+
+    int getChannelsCount();
+
+    /**
+     * @return Stable id of channel, the same as returned by {@link IGuideAdapter#getChannelId(int)}
+     */
+    long getChannelId(int channel);
+
+    /**
+     * @return Hash of displayed content of channel indicator, channels with the same id and hash are not bound again
+     */
+    long getChannelContentHash(int channel);
+
+    int getEventsCount(int channel);
+
+    /**
+     * @return Stable id of event, the same as returned by {@link IGuideAdapter#getEventId(int, int)}
+     */
+    long getEventId(int channel, int event);
+
+    /**
+     * @return Width of event in minutes
+     */
+    int getEventWidth(int channel, int event);
+
+    /**
+     * @return Hash of displayed content of event, events with the same id and hash are not bound again
+     */
+    long getEventContentHash(int channel, int event);
+}
@@ -0,0 +1,61 @@
+package com.epg;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Optional system trace sections around guide hot paths. Section names are stable, so traces can be analyzed
+ * automatically. When tracing is disabled each section costs one boolean check.
+ */
+final class GuideTrace {
+    static final String LAYOUT_CHILDREN = "Guide:layoutChildren";
+    static final String CALCULATE_ROW_POSITIONS = "Guide:calculateRowPositions";
+    static final String LAYOUT_EVENTS_ROW = "Guide:layoutEventsRow";
+    static final String REMOVE_INVISIBLE_ITEMS = "Guide:removeInvisibleItems";
+    static final String BIND_EVENT_VIEW = "Guide:bindEventView";
+    static final String BIND_CHANNEL_INDICATOR_VIEW = "Guide:bindChannelIndicatorView";
+    static final String DRAW_TIME_LINE = "Guide:drawTimeLine";
+    static final String DRAW_SELECTOR = "Guide:drawSelector";
+
+    /**
+     * android.os.Trace is available from API 18
+     */
+    private static final boolean TRACE_SUPPORTED = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2;
+    private static boolean sEnabled = false;
+
+    private GuideTrace() {
+    }
+
+    static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        sEnabled = enabled && TRACE_SUPPORTED;
+    }
+
+    /**
+     * Begin trace section if tracing is enabled
+     *
+     * @param sectionName One of section name constants
+     * @return TRUE if section is started, this value must be passed to {@link #end(boolean)}
+     */
+    static boolean begin(String sectionName) {
+        if (sEnabled) {
+            Trace.beginSection(sectionName);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * End trace section started with {@link #begin(String)}
+     *
+     * @param started Value returned from {@link #begin(String)}
+     */
+    static void end(boolean started) {
+        if (started) {
+            Trace.endSection();
+        }
+    }
+}
@@ -26,10 +26,6 @@ import java.util.ArrayList;
  * @author Branimir Pavlovic
  */
 public class GuideView extends BaseGuideView {
-    /**
-     * Defined time of refreshing in on now mode if guide is not refreshed for some time
-     */
-    private static final int ON_NOW_REFRESH_INTERVAL = 30000;
     /**
      * Open and close guide animation duration
      */
@@ -45,6 +41,10 @@ public class GuideView extends BaseGuideView {
     static final int GUIDE_MODE_IN_TRANSITION = 2;
 
     private static final int PARENT_WIDTH_DIVIDE = 2;
+    /**
+     * Number of rows ahead of scroll direction that are prefetched
+     */
+    private static final int PREFETCH_ROWS_COUNT = 2;
     /**
      * Active guide mode
      */
@@ -65,10 +65,9 @@ public class GuideView extends BaseGuideView {
      */
     private int mEventsAreaMiddlePoint = INVALID_POSITION;
     /**
-     * Previous system time of long press
+     * Long press state of keys
      */
-    private long mLongPressTime = 0;
-    private boolean isInLongPress = false;
+    private final GuideNavigation mNavigation = new GuideNavigation();
     /**
      * List of calculated vertical positions of channel rows
      */
@@ -92,19 +91,24 @@ public class GuideView extends BaseGuideView {
     private Animation.AnimationListener mHideListener;
 
     /**
-     * Position of event view that will be selected when guide scrolls to it
+     * Renderer that draws events on canvas, NULL if events are represented by views. Used only in FULL mode.
      */
-    private int mDesiredEventPosition = INVALID_POSITION;
+    private GuideCellRenderer mCellRenderer;
+    /**
+     * Events that are drawn with cell renderer in current layout pass. List is reused, only first mCellsCount
+     * elements are valid.
+     */
+    private ArrayList<GuideCell> mCells;
+    private int mCellsCount = 0;
+    /**
+     * Rows laid out in FULL mode, rows that are only moved vertically since then are not laid out again
+     */
+    private SparseArray<RowLayoutInfo> mRowLayouts;
 
     /**
-     * Refresh drawing of time line
+     * Position of event view that will be selected when guide scrolls to it
      */
-    private final Runnable mRefreshOnNowRunnable = new Runnable() {
-        @Override
-        public void run() {
-            layoutChildren();
-        }
-    };
+    private int mDesiredEventPosition = INVALID_POSITION;
 
     public GuideView(Context context) throws Exception {
         super(context);
@@ -138,12 +142,15 @@ public class GuideView extends BaseGuideView {
         mRunningEventInfo = new SparseArray<GuideEventAnimInfo>();
         //Init events info
         mEventPositions = new SparseArray<EventsPositionInfo>();
+        //Init cells drawn by cell renderer
+        mCells = new ArrayList<GuideCell>();
+        mRowLayouts = new SparseArray<RowLayoutInfo>();
     }
 
     @Override
     public boolean dispatchKeyEvent(KeyEvent event) {
         boolean handled = false;
-        if (mScroll.isFinished()) {
+        if (isScrollFinished()) {
             if (mSelectedView != null) {
                 handled = mSelectedView.dispatchKeyEvent(event);
             }
@@ -153,33 +160,15 @@ public class GuideView extends BaseGuideView {
 
     @Override
     public boolean onKeyUp(int keyCode, KeyEvent event) {
-        boolean handled = false;
-        switch (keyCode) {
-        case KeyEvent.KEYCODE_DPAD_UP: {
-            if (mGuideMode != GUIDE_MODE_IN_TRANSITION) {
-                log("ON KEY UP, KEYCODE_DPAD_UP, mScrollState=" + mScrollState + ", isInLongPress=" + isInLongPress);
-                if (mScrollState == SCROLL_STATE_FAST_SCROLL) {
-                    changeScrollState(SCROLL_STATE_FAST_SCROLL_END, keyCode);
-                }
-            }
-            handled = true;
-            break;
-        }
-        case KeyEvent.KEYCODE_DPAD_DOWN: {
-            if (mGuideMode != GUIDE_MODE_IN_TRANSITION) {
-                log("ON KEY UP, KEYCODE_DPAD_DOWN, mScrollState=" + mScrollState + ", isInLongPress=" + isInLongPress);
-                if (mScrollState == SCROLL_STATE_FAST_SCROLL) {
-                    changeScrollState(SCROLL_STATE_FAST_SCROLL_END, keyCode);
-                }
-            }
-            handled = true;
-            break;
+        final boolean vertical = keyCode == KeyEvent.KEYCODE_DPAD_UP || keyCode == KeyEvent.KEYCODE_DPAD_DOWN;
+        if (vertical && mGuideMode != GUIDE_MODE_IN_TRANSITION) {
+            GuideLog.log(GuideLog.EVENT_KEY_UP, keyCode, mScrollState, mNavigation.isInLongPress() ? 1 : 0);
         }
+        if (mNavigation.onKeyUp(vertical && mGuideMode != GUIDE_MODE_IN_TRANSITION, mScrollState)
+                == GuideNavigation.ACTION_END_FAST_SCROLL) {
+            changeScrollState(SCROLL_STATE_FAST_SCROLL_END, keyCode);
         }
-        if (isInLongPress) {
-            isInLongPress = false;
-        }
-        return handled || super.onKeyUp(keyCode, event);
+        return vertical || super.onKeyUp(keyCode, event);
     }
 
     @Override
@@ -188,62 +177,24 @@ public class GuideView extends BaseGuideView {
             return false;
         }
         switch (keyCode) {
-        case KeyEvent.KEYCODE_DPAD_UP: {
-            if (event.isLongPress()) {
-                isInLongPress = true;
-            }
-            long now = System.currentTimeMillis();
-            if (mGuideMode != GUIDE_MODE_IN_TRANSITION) {
-                log("ON KEY DOWN, KEYCODE_DPAD_DOWN, mScrollState=" + mScrollState + ", isInLongPress=" +
-                        isInLongPress);
-                /**
-                 * Long press
-                 */
-                if (isInLongPress
-                        && (now - mLongPressTime > SMOOTH_FAST_SCROLL_DURATION - 60)) {
-                    mLongPressTime = now;
-                    if (mScrollState == SCROLL_STATE_NORMAL) {
-                        changeScrollState(SCROLL_STATE_FAST_SCROLL, keyCode);
-                    } else if (mScrollState == SCROLL_STATE_FAST_SCROLL) {
-                        mSmoothScrollRunnable.resumeVerticalScroll(-1);
-                    }
-                }
-                /**
-                 * Normal press
-                 */
-                else if (!isInLongPress) {
-                    return mSmoothScrollRunnable.startVerticalScrollToPosition(
-                            mSelectedItemPosition - 1, SMOOTH_SCROLL_DURATION);
-                }
-            }
-            return true;
-        }
+        case KeyEvent.KEYCODE_DPAD_UP:
         case KeyEvent.KEYCODE_DPAD_DOWN: {
-            if (event.isLongPress()) {
-                isInLongPress = true;
-            }
-            long now = System.currentTimeMillis();
+            mNavigation.onKeyDown(event.isLongPress());
             if (mGuideMode != GUIDE_MODE_IN_TRANSITION) {
-                log("ON KEY DOWN, KEYCODE_DPAD_DOWN, mScrollState=" + mScrollState + ", isInLongPress="
-                        + isInLongPress);
-                /**
-                 * Long press
-                 */
-                if (isInLongPress
-                        && (now - mLongPressTime > SMOOTH_FAST_SCROLL_DURATION - 60)) {
-                    mLongPressTime = now;
-                    if (mScrollState == SCROLL_STATE_NORMAL) {
-                        changeScrollState(SCROLL_STATE_FAST_SCROLL, keyCode);
-                    } else if (mScrollState == SCROLL_STATE_FAST_SCROLL) {
-                        mSmoothScrollRunnable.resumeVerticalScroll(1);
-                    }
-                }
-                /**
-                 * Normal press
-                 */
-                else if (!isInLongPress) {
-                    return mSmoothScrollRunnable.startVerticalScrollToPosition(
-                            mSelectedItemPosition + 1, SMOOTH_SCROLL_DURATION);
+                GuideLog.log(GuideLog.EVENT_KEY_DOWN, keyCode, mScrollState, mNavigation.isInLongPress() ? 1 : 0);
+                final int direction = keyCode == KeyEvent.KEYCODE_DPAD_DOWN ? 1 : -1;
+                switch (mNavigation.getVerticalKeyAction(event.getEventTime(), mScrollState)) {
+                case GuideNavigation.ACTION_STEP:
+                    return mSmoothScrollAnimator.startVerticalScrollToPosition(
+                            mSelectedItemPosition + direction, SMOOTH_SCROLL_DURATION);
+                case GuideNavigation.ACTION_START_FAST_SCROLL:
+                    changeScrollState(SCROLL_STATE_FAST_SCROLL, keyCode);
+                    break;
+                case GuideNavigation.ACTION_CONTINUE_FAST_SCROLL:
+                    mSmoothScrollAnimator.resumeVerticalScroll(direction);
+                    break;
+                default:
+                    break;
                 }
             }
             return true;
@@ -263,6 +214,12 @@ public class GuideView extends BaseGuideView {
         case KeyEvent.KEYCODE_ENTER: {
             return performItemClick(mSelectedView);
         }
+        case KeyEvent.KEYCODE_ZOOM_IN: {
+            return zoomIn();
+        }
+        case KeyEvent.KEYCODE_ZOOM_OUT: {
+            return zoomOut();
+        }
         }
         return super.onKeyDown(keyCode, event);
     }
@@ -338,7 +295,9 @@ public class GuideView extends BaseGuideView {
             if (newMode == GUIDE_MODE_FULL) {
                 mGuideMode = GUIDE_MODE_FULL;
                 mTimeLineSpecificOffset = INVALID_POSITION;
-                //TODO what to do here?
+                clearTransitionTransformation();
+                // Views are already at their final positions, commit layout of FULL mode
+                requestLayout();
             }
             break;
         }
@@ -380,18 +339,17 @@ public class GuideView extends BaseGuideView {
             mRunningEventInfo.put(channelIndex, new GuideEventAnimInfo
                     (eventView, eventIndex, eventView.getMeasuredWidth(), calculateEventWidth(channelIndex, eventIndex),
                             getOffsetForSelectedEventFromBeginning(channelIndex, eventIndex)));
-            log("EVENT ANIM INFO: channelIndex=" + channelIndex + mRunningEventInfo.get(channelIndex).toString());
+            GuideLog.log(GuideLog.EVENT_TRANSITION_EVENT_INFO, channelIndex, eventView.getMeasuredWidth(),
+                    mRunningEventInfo.get(channelIndex).getEndWidth());
         }
 
-        GuideResizeAnimation animation = new GuideResizeAnimation(this, getMeasuredWidth(), width, mRunningEventInfo,
+        GuideResizeAnimation animation = new GuideResizeAnimation(this, width - getMeasuredWidth(),
                 mBackgroundView.getAlpha(), 1f);
         animation.setDuration(GUIDE_TRANSITION_ANIM_DURATION);
         animation.setInterpolator(new AccelerateInterpolator());
         animation.setAnimationListener(new Animation.AnimationListener() {
             @Override
             public void onAnimationStart(Animation animation) {
-                mGuideMode = GUIDE_MODE_IN_TRANSITION;
-                mTimeLineRestrictedArea = null;
             }
 
             @Override
@@ -404,16 +362,69 @@ public class GuideView extends BaseGuideView {
 
             }
         });
+        // Guide is laid out only once with its final width, animation translates it back to its ON_NOW position
+        mGuideMode = GUIDE_MODE_IN_TRANSITION;
+        mTimeLineRestrictedArea = null;
+        setLayoutParams(updateLayoutParamsForMode(true));
         startAnimation(animation);
     }
 
+    /**
+     * Transform event views that are laid out at their FULL positions so they look like they are moving from ON_NOW
+     * positions. Running event is moved from beginning of events area and clipped to its current width, so its content
+     * is not stretched. Its neighbours are attached to its edges.
+     *
+     * @param interpolatedTime Progress of transition animation
+     */
+    void applyTransitionTransformation(float interpolatedTime) {
+        if (mGuideMode != GUIDE_MODE_IN_TRANSITION) {
+            return;
+        }
+        LayoutParams params;
+        GuideEventAnimInfo animEventInfo;
+        int eventLeft, eventWidth;
+        for (View eventView : mRecycler.getActiveEventViews()) {
+            params = (LayoutParams) eventView.getLayoutParams();
+            animEventInfo = mRunningEventInfo.get(params.mChannelIndex);
+            if (animEventInfo == null) {
+                continue;
+            }
+            eventLeft = (int) (animEventInfo.getEndPosition() * interpolatedTime);
+            eventWidth = (int) (animEventInfo.getStartWidth()
+                    + (animEventInfo.getEndWidth() - animEventInfo.getStartWidth()) * interpolatedTime);
+            if (params.mEventIndex == animEventInfo.getEventPosition()) {
+                eventView.setTranslationX(eventLeft - animEventInfo.getEndPosition());
+                params.mClipWidth = eventWidth;
+                // Clip is applied by row, so row must be drawn again
+                ((View) eventView.getParent()).invalidate();
+            } else if (params.mEventIndex > animEventInfo.getEventPosition()) {
+                eventView.setTranslationX(eventLeft + eventWidth - animEventInfo.getEndPosition()
+                        - animEventInfo.getEndWidth());
+            } else {
+                eventView.setTranslationX(eventLeft - animEventInfo.getEndPosition());
+            }
+        }
+        invalidate();
+    }
+
+    /**
+     * Remove transformations of event views set during transition
+     */
+    private void clearTransitionTransformation() {
+        for (View eventView : mRecycler.getActiveEventViews()) {
+            eventView.setTranslationX(0);
+            ((LayoutParams) eventView.getLayoutParams()).mClipWidth = INVALID_POSITION;
+        }
+    }
+
     @Override
     protected void onSizeChanged(int w, int h, int oldw, int oldh) {
         super.onSizeChanged(w, h, oldw, oldh);
         if (redrawOnSizeChanged) {
             redrawOnSizeChanged = false;
             unselectSeletedViewWithoutCallback();
-            redrawItems();
+            // Keep views of events that are visible in both modes
+            relayoutItems();
         }
     }
 
@@ -421,13 +432,32 @@ public class GuideView extends BaseGuideView {
      * Resize guide quickly without running animation
      */
     private void resizeGuideWithoutAnimation() {
+        final ViewGroup.LayoutParams params = updateLayoutParamsForMode(mGuideMode == GUIDE_MODE_FULL);
+        if (mGuideMode == GUIDE_MODE_ON_NOW) {
+            mTimeLineSpecificOffset = mRectTimeLine.width() / 4;
+            mTimeLineRestrictedArea = new Rect(mRectChannelIndicators.left, mRectTimeLine.top, mRectTimeLine.right,
+                    mRectTimeLine.bottom);
+        } else if (mGuideMode == GUIDE_MODE_FULL) {
+            mTimeLineSpecificOffset = INVALID_POSITION;
+        }
+        redrawOnSizeChanged = true;
+        setLayoutParams(params);
+    }
+
+    /**
+     * Change width and gravity of guide layout params, params are not applied to guide
+     *
+     * @param fullMode TRUE for FULL mode params, FALSE for ON_NOW mode params
+     * @return Changed layout params
+     */
+    private ViewGroup.LayoutParams updateLayoutParamsForMode(boolean fullMode) {
         int width = 0;
         ViewGroup.LayoutParams params = getLayoutParams();
         if (getParent() != null && getParent() instanceof ViewGroup) {
             width = ((ViewGroup) getParent()).getMeasuredWidth();
         }
-        params.width = mGuideMode == GUIDE_MODE_FULL ? width : width / PARENT_WIDTH_DIVIDE;
-        if (mGuideMode == GUIDE_MODE_ON_NOW) {
+        params.width = fullMode ? width : width / PARENT_WIDTH_DIVIDE;
+        if (!fullMode) {
             if (params instanceof LinearLayout.LayoutParams) {
                 ((LinearLayout.LayoutParams) params).gravity = Gravity.RIGHT;
             } else if (params instanceof RelativeLayout.LayoutParams) {
@@ -435,10 +465,7 @@ public class GuideView extends BaseGuideView {
             } else if (params instanceof FrameLayout.LayoutParams) {
                 ((FrameLayout.LayoutParams) params).gravity = Gravity.RIGHT;
             }
-            mTimeLineSpecificOffset = mRectTimeLine.width() / 4;
-            mTimeLineRestrictedArea = new Rect(mRectChannelIndicators.left, mRectTimeLine.top, mRectTimeLine.right,
-                    mRectTimeLine.bottom);
-        } else if (mGuideMode == GUIDE_MODE_FULL) {
+        } else {
             if (params instanceof LinearLayout.LayoutParams) {
                 ((LinearLayout.LayoutParams) params).gravity = Gravity.NO_GRAVITY;
             } else if (params instanceof RelativeLayout.LayoutParams) {
@@ -446,10 +473,8 @@ public class GuideView extends BaseGuideView {
             } else if (params instanceof FrameLayout.LayoutParams) {
                 ((FrameLayout.LayoutParams) params).gravity = Gravity.NO_GRAVITY;
             }
-            mTimeLineSpecificOffset = INVALID_POSITION;
         }
-        redrawOnSizeChanged = true;
-        setLayoutParams(params);
+        return params;
     }
 
     /**
@@ -459,7 +484,7 @@ public class GuideView extends BaseGuideView {
      */
     public void smoothScrollToPosition(int position) {
         int diff = Math.abs(mSelectedItemPosition - position);
-        mSmoothScrollRunnable.startVerticalScrollToPosition(position, (int) (diff * SMOOTH_FAST_SCROLL_DURATION * 0.6));
+        mSmoothScrollAnimator.startVerticalScrollToPosition(position, (int) (diff * SMOOTH_FAST_SCROLL_DURATION * 0.6));
     }
 
     /**
@@ -478,7 +503,7 @@ public class GuideView extends BaseGuideView {
         if (mCurrentOffsetX + scrollBy < 0) {
             scrollBy = -mCurrentOffsetX;
         }
-        if (mSmoothScrollRunnable.startScrollBy(scrollBy, 0, SMOOTH_LEFT_RIGHT_DURATION)) {
+        if (mSmoothScrollAnimator.startScrollBy(scrollBy, 0, SMOOTH_LEFT_RIGHT_DURATION)) {
             mDesiredEventPosition = position;
             unselectSeletedViewWithoutCallback();
         }
@@ -495,6 +520,11 @@ public class GuideView extends BaseGuideView {
 
     @Override
     protected void dispatchDraw(Canvas canvas) {
+        final long start = mMetrics.start();
+        //Events drawn by cell renderer are below all child views
+        if (mCellRenderer != null && mCellsCount > 0) {
+            drawCells(canvas);
+        }
         super.dispatchDraw(canvas);
         //Draw divider between channel indicators and events
         if (mRows != null && mRows.size() > 0) {
@@ -504,6 +534,130 @@ public class GuideView extends BaseGuideView {
                             .right + mHorizontalDividerWidth, mRows.get(mRows.size() - 1).getBottom(),
                     mDividerOverlayPaint);
         }
+        mMetrics.stop(GuideMetrics.TIME_DISPATCH_DRAW, start);
+    }
+
+    /**
+     * Draw events that are not represented by views
+     */
+    private void drawCells(Canvas canvas) {
+        final int saveCount = canvas.save();
+        canvas.clipRect(mRectEventsArea);
+        final int selectedChannel = getSelectedItemChannelPosition();
+        final int selectedEvent = getSelectedItemEventPosition();
+        GuideCell cell;
+        Rect bounds;
+        for (int i = 0; i < mCellsCount; i++) {
+            cell = mCells.get(i);
+            bounds = cell.getBounds();
+            //Draw divider on the left side of event
+            if (mDivider != null && cell.getEventIndex() > 0) {
+                mDivider.setBounds(bounds.left - mHorizontalDividerWidth, bounds.top, bounds.left, bounds.bottom);
+                mDivider.draw(canvas);
+            }
+            //Selected event is drawn by its view
+            if (cell.getChannelIndex() == selectedChannel && cell.getEventIndex() == selectedEvent) {
+                continue;
+            }
+            mCellRenderer.drawEvent(canvas, cell.getChannelIndex(), cell.getEventIndex(), bounds);
+        }
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * Remember position of event that will be drawn by cell renderer
+     */
+    private void addCell(int channelIndex, int eventIndex, int left, int top, int right, int bottom) {
+        if (mCellsCount == mCells.size()) {
+            mCells.add(new GuideCell());
+        }
+        mCells.get(mCellsCount++).set(channelIndex, eventIndex, left, top, right, bottom);
+    }
+
+    @Override
+    protected View obtainEventViewAtCoordinates(int touchX, int touchY) {
+        if (mCellRenderer == null) {
+            return null;
+        }
+        GuideCell cell;
+        Rect bounds;
+        for (int i = 0; i < mCellsCount; i++) {
+            cell = mCells.get(i);
+            bounds = cell.getBounds();
+            if (bounds.contains(touchX, touchY)) {
+                return layoutChildView(LAYOUT_TYPE_EVENTS, null, bounds.height(), bounds.top, bounds.left,
+                        calculateResizedPercentOfView(bounds.height()), cell.getChannelIndex(),
+                        cell.getEventIndex());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected int findChannelIndexAtY(int y) {
+        if (mGuideMode == GUIDE_MODE_IN_TRANSITION) {
+            return INVALID_POSITION;
+        }
+        // Rows are sorted by their top coordinate
+        int low = 0;
+        int high = mRows.size() - 1;
+        int middle;
+        GuideRowInfo guideRowInfo;
+        while (low <= high) {
+            middle = (low + high) >>> 1;
+            guideRowInfo = mRows.get(middle);
+            if (y < guideRowInfo.getTop()) {
+                high = middle - 1;
+            } else if (y >= guideRowInfo.getBottom()) {
+                low = middle + 1;
+            } else {
+                return guideRowInfo.getChannelIndex();
+            }
+        }
+        return INVALID_POSITION;
+    }
+
+    @Override
+    protected int findEventIndexAtX(int channelIndex, int x) {
+        if (mGuideMode == GUIDE_MODE_ON_NOW) {
+            // Only running event is shown and it fills events area
+            return x >= mRectEventsArea.left && x < mRectEventsArea.right ? mAdapter.getNowEventIndex(channelIndex)
+                    : INVALID_POSITION;
+        }
+        return super.findEventIndexAtX(channelIndex, x);
+    }
+
+    @Override
+    protected void onClockTick() {
+        super.onClockTick();
+        if (mGuideMode == GUIDE_MODE_ON_NOW && mAdapter != null) {
+            refreshOnNowEvents();
+        }
+    }
+
+    /**
+     * Relayout only rows whose running event has changed since last layout pass
+     */
+    private void refreshOnNowEvents() {
+        boolean changed = false;
+        int channelIndex;
+        EventsPositionInfo eventsPositionInfo;
+        for (int i = 0; i < mRows.size(); i++) {
+            channelIndex = mRows.get(i).getChannelIndex();
+            eventsPositionInfo = mEventPositions.get(channelIndex);
+            if (eventsPositionInfo != null
+                    && eventsPositionInfo.getFirstVisibleEvent() != mAdapter.getNowEventIndex(channelIndex)) {
+                if (channelIndex == getSelectedItemChannelPosition()) {
+                    unselectSeletedViewWithoutCallback();
+                }
+                mRecycler.moveAllViewsToRecycleForDesiredChannel(channelIndex);
+                changed = true;
+            }
+        }
+        if (changed) {
+            layoutChildren();
+            invalidate();
+        }
     }
 
     @Override
@@ -513,11 +667,25 @@ public class GuideView extends BaseGuideView {
 
     @Override
     protected void layoutEvents() {
+        mCellRenderer = mGuideMode == GUIDE_MODE_FULL ? mAdapter.getEventCellRenderer() : null;
+        //Cells are added again in every layout pass, and other modes position views differently
+        if (mGuideMode != GUIDE_MODE_FULL || mCellRenderer != null) {
+            mRowLayouts.clear();
+        }
         layoutViews(LAYOUT_TYPE_EVENTS);
+        //Only selected event is represented by view when cells are drawn by renderer
+        if (mCellRenderer != null) {
+            mRecycler.recycleEventViewsExcept(mSelectedView);
+        }
     }
 
     @Override
     protected void layoutEvents(int channelIndex) {
+        //Cells of all rows are recalculated in every layout pass
+        if (mCellRenderer != null) {
+            layoutEvents();
+            return;
+        }
         GuideRowInfo guideRowInfo = null;
         FirstPositionInfo firstPositionInfo;
         int currentX = mRectEventsArea.left;
@@ -554,17 +722,11 @@ public class GuideView extends BaseGuideView {
 
     @Override
     protected void calculateRowPositions() {
-        if (mGuideMode == GUIDE_MODE_ON_NOW) {
-            removeCallbacks(mRefreshOnNowRunnable);
-            postDelayed(mRefreshOnNowRunnable, ON_NOW_REFRESH_INTERVAL);
-        } else {
-            removeCallbacks(mRefreshOnNowRunnable);
-        }
         mRows.clear();
         mEventPositions.clear();
+        mCellsCount = 0;
         int currentRowHeight = 0;
         int resizedPercent = 0;
-        //log("calculateRowPositions, mCurrentOffsetY=" + mCurrentOffsetY);
         // For fast scroll end we must recalculate heights different way
         if (mScrollState == SCROLL_STATE_FAST_SCROLL_END) {
             int i;
@@ -596,7 +758,8 @@ public class GuideView extends BaseGuideView {
                     currentYUp = currentYUp
                             - (currentRowHeight + mVerticalDividerHeight);
                 }
-                mRows.add(new GuideRowInfo(i, currentYUp, currentRowHeight,
+                // Keep rows sorted from top to bottom
+                mRows.add(0, new GuideRowInfo(i, currentYUp, currentRowHeight,
                         resizedPercent));
                 // If current Y coordinate is out of screen
                 if (currentYUp <= mRectChannelIndicators.top) {
@@ -701,7 +864,6 @@ public class GuideView extends BaseGuideView {
                 && mSelectedItemPosition != getSelectedItemChannelPosition()) {
             unselectSeletedViewWithoutCallback();
         }
-        //log("calculateRowPositions(), ROWS=" + mRows.toString());
     }
 
     /**
@@ -733,6 +895,9 @@ public class GuideView extends BaseGuideView {
                 }
 
             } else {
+                if (reuseRowLayout(guideRowInfo)) {
+                    continue;
+                }
                 // Get first child position based on current scroll value
                 // and calculate its invisible part
                 firstPositionInfo = getPositionAndOffsetForScrollValue(
@@ -753,21 +918,69 @@ public class GuideView extends BaseGuideView {
     private void layoutEventViews(GuideRowInfo guideRowInfo, FirstPositionInfo firstPositionInfo, int currentX) {
         if (mGuideMode == GUIDE_MODE_ON_NOW) {
             layoutEventsOnNowMode(guideRowInfo);
-        } else if (mGuideMode == GUIDE_MODE_IN_TRANSITION) {
-            layoutEventsInTransitionMode(guideRowInfo);
         } else {
+            // In TRANSITION mode views are laid out at their FULL positions, transition animation only transforms them
             // Move X coordinate to left to support drawing of invisible
             // part of event view
             currentX -= firstPositionInfo.getFirstChildInvisiblePart();
             if (firstPositionInfo.getFirstChildIndex() > 0) {
                 currentX += mHorizontalDividerWidth;
             }
+            final int channelIndex = guideRowInfo.getChannelIndex();
             // Layout all event views for channel
-            layoutEventsRow(guideRowInfo.getChannelIndex(), currentX,
+            layoutEventsRow(channelIndex, currentX,
                     guideRowInfo.getTop(),
                     firstPositionInfo.getFirstChildIndex(),
                     guideRowInfo.getHeight());
             currentX = mRectEventsArea.left;
+            final EventsPositionInfo eventsPositionInfo = mEventPositions.get(channelIndex);
+            RowLayoutInfo rowLayoutInfo = mRowLayouts.get(channelIndex);
+            if (mCellRenderer == null && eventsPositionInfo != null) {
+                if (rowLayoutInfo == null) {
+                    rowLayoutInfo = new RowLayoutInfo();
+                    mRowLayouts.put(channelIndex, rowLayoutInfo);
+                }
+                rowLayoutInfo.set(guideRowInfo.getTop(), guideRowInfo.getHeight(), mCurrentOffsetX, mCurrentOffsetY,
+                        eventsPositionInfo);
+            } else {
+                mRowLayouts.remove(channelIndex);
+            }
+        }
+    }
+
+    /**
+     * Row that is only moved by vertical scroll since its last layout already has its views in place, so only its
+     * visible events are restored.
+     *
+     * @return TRUE if row does not have to be laid out
+     */
+    private boolean reuseRowLayout(GuideRowInfo guideRowInfo) {
+        final int channelIndex = guideRowInfo.getChannelIndex();
+        final RowLayoutInfo rowLayoutInfo = mRowLayouts.get(channelIndex);
+        if (rowLayoutInfo == null || mGuideMode != GUIDE_MODE_FULL || mCellRenderer != null
+                || !rowLayoutInfo.matches(guideRowInfo, mCurrentOffsetX, mCurrentOffsetY)
+                || (channelIndex == mSelectedItemPosition && mSelectedView == null)) {
+            return false;
+        }
+        mEventPositions.put(channelIndex, rowLayoutInfo.getEventsPositionInfo());
+        return true;
+    }
+
+    @Override
+    protected boolean isZoomAllowed() {
+        // Events in other modes do not depend on width of one minute
+        return mGuideMode == GUIDE_MODE_FULL && super.isZoomAllowed();
+    }
+
+    @Override
+    protected void invalidateRowLayout(int channelIndex) {
+        if (mRowLayouts == null) {
+            return;
+        }
+        if (channelIndex == INVALID_POSITION) {
+            mRowLayouts.clear();
+        } else {
+            mRowLayouts.remove(channelIndex);
         }
     }
 
@@ -791,38 +1004,10 @@ public class GuideView extends BaseGuideView {
         if (guideRowInfo.getChannelIndex() == mSelectedItemPosition && mSelectedView == null
                 && mScrollState == SCROLL_STATE_NORMAL) {
             selectNextView(attached);
-            mTempSelectedViewOffset = INVALID_POSITION;
+            mFocusedTime = INVALID_POSITION;
         }
     }
 
-    /**
-     * Position running events in TRANSITION mode.
-     *
-     * @param guideRowInfo Information about current row
-     */
-    private void layoutEventsInTransitionMode(GuideRowInfo guideRowInfo) {
-        final int eventIndex = mRunningEventInfo.get(guideRowInfo.getChannelIndex()).getEventPosition();
-
-        //Resize and layout running event
-        View attached = findItemAttachedToWindow(
-                LAYOUT_TYPE_EVENTS,
-                guideRowInfo.getChannelIndex(), eventIndex);
-        attached = layoutChildView(LAYOUT_TYPE_EVENTS, attached,
-                guideRowInfo.getHeight(), guideRowInfo.getTop(),
-                ((LayoutParams) attached.getLayoutParams()).mLeftCoordinate + mRectEventsArea.left,
-                guideRowInfo.getResizedPercent(),
-                guideRowInfo.getChannelIndex(), eventIndex);
-
-        int xCoordinateRight = attached.getRight() + mHorizontalDividerWidth;
-        int xCoordinateLeft = attached.getLeft() - mHorizontalDividerWidth;
-        // Layout events to the right
-        layoutEventsRow(guideRowInfo.getChannelIndex(), xCoordinateRight, guideRowInfo.getTop(), eventIndex + 1,
-                guideRowInfo.getHeight());
-        //Layout events to the left
-        layoutEventsRowToLeft(guideRowInfo.getChannelIndex(), xCoordinateLeft, guideRowInfo.getTop(), eventIndex - 1,
-                guideRowInfo.getHeight());
-    }
-
     /**
      * Position whole row of guide data
      *
@@ -834,43 +1019,66 @@ public class GuideView extends BaseGuideView {
      */
     private void layoutEventsRow(final int channelIndex, int currentX,
             int currentY, final int firstChildIndex, int currentRowHeight) {
-        //log("GUIDE VIEW layoutEventsRow channelIndex=" + channelIndex);
+        final boolean traced = GuideTrace.begin(GuideTrace.LAYOUT_EVENTS_ROW);
         // Get number of events
         final int eventCount = getEventsCount(channelIndex);
         final int resizedPercent = calculateResizedPercentOfView(currentRowHeight);
         int eventWidth = 0;
         int right = 0;
         View viewToSelect = null;
-        int minCalculatedOffset = Integer.MAX_VALUE;
+        int indexToSelect = INVALID_POSITION;
+        int leftToSelect = 0;
+        boolean select;
+        // Event that covers focused time is found from adapter data, not by comparing positions of laid out views
+        final int focusedEventIndex = channelIndex == mSelectedItemPosition && mSelectedView == null
+                && mScrollState == SCROLL_STATE_NORMAL && mDesiredEventPosition == INVALID_POSITION
+                && mSelectionType == SelectionType.FIXED_ON_SCREEN && mSelectedEventItemPosition == INVALID_POSITION
+                ? findEventAtFocusedTime(channelIndex) : INVALID_POSITION;
         for (int j = firstChildIndex; j < eventCount; j++) {
-            View attached = findItemAttachedToWindow(LAYOUT_TYPE_EVENTS,
-                    channelIndex, j);
-            attached = layoutChildView(LAYOUT_TYPE_EVENTS, attached,
-                    currentRowHeight, currentY, currentX, resizedPercent,
-                    channelIndex, j);
-            eventWidth = attached.getMeasuredWidth();
+            View attached = null;
+            if (mCellRenderer != null) {
+                //Only selected event has view, other events are drawn as cells
+                eventWidth = calculateEventWidth(channelIndex, j);
+                if (mSelectedView != null && getSelectedItemChannelPosition() == channelIndex
+                        && getSelectedItemEventPosition() == j) {
+                    attached = layoutChildView(LAYOUT_TYPE_EVENTS, mSelectedView,
+                            currentRowHeight, currentY, currentX, resizedPercent,
+                            channelIndex, j);
+                }
+                addCell(channelIndex, j, currentX, currentY, currentX + eventWidth, currentY + currentRowHeight);
+            } else {
+                attached = findItemAttachedToWindow(LAYOUT_TYPE_EVENTS,
+                        channelIndex, j);
+                attached = layoutChildView(LAYOUT_TYPE_EVENTS, attached,
+                        currentRowHeight, currentY, currentX, resizedPercent,
+                        channelIndex, j);
+                // Running event can be wider than its event during transition, next event starts at event end
+                eventWidth = calculateEventWidth(channelIndex, j);
+            }
             right = currentX + eventWidth;
             /**
              * If selected view is null we must mark some selected channel event selected
              */
             if (channelIndex == mSelectedItemPosition && mSelectedView == null && mScrollState == SCROLL_STATE_NORMAL) {
+                select = false;
                 if (mDesiredEventPosition != INVALID_POSITION) {
                     if (mDesiredEventPosition == j) {
-                        viewToSelect = attached;
+                        select = true;
                     }
                     //TODO NOT FIXED ON SCREEN SHOULD BE IMPLEMENTED
                 } else if (mSelectionType == SelectionType.FIXED_ON_SCREEN) {
                     if (mSelectedEventItemPosition == INVALID_POSITION) {
-                        int offset = minCalculatedOffset == 0 ? 0 : calculateOffsetFromFixedSelection(currentX, right);
-                        if (minCalculatedOffset > 0 && offset < minCalculatedOffset) {
-                            minCalculatedOffset = offset;
-                            viewToSelect = attached;
-                        }
+                        select = focusedEventIndex == j;
                     } else if (mSelectedEventItemPosition == j) {
-                        viewToSelect = attached;
+                        select = true;
                     }
-                } else if (viewToSelect == null) {
+                } else if (indexToSelect == INVALID_POSITION) {
+                    select = true;
+                }
+                if (select) {
                     viewToSelect = attached;
+                    indexToSelect = j;
+                    leftToSelect = currentX;
                 }
             }
             // If child right edge is larger or equals to right
@@ -882,65 +1090,23 @@ public class GuideView extends BaseGuideView {
                 currentX = right + mHorizontalDividerWidth;
             }
         }
-        if (viewToSelect != null) {
-            selectNextView(viewToSelect);
-            mDesiredEventPosition = INVALID_POSITION;
-            mTempSelectedViewOffset = INVALID_POSITION;
+        if (indexToSelect == INVALID_POSITION && focusedEventIndex != INVALID_POSITION) {
+            // Focused event is outside of visible events
+            indexToSelect = focusedEventIndex;
+            leftToSelect = mRectEventsArea.left + getOffsetForSelectedEventFromBeginning(channelIndex,
+                    focusedEventIndex);
         }
-    }
-
-    /**
-     * Position whole row of guide data from right to left.
-     *
-     * @param channelIndex     Index of channel to draw
-     * @param currentX         Current X position on screen
-     * @param currentY         Current Y position on screen
-     * @param firstChildIndex  Index of first visible event index
-     * @param currentRowHeight Current row height
-     */
-    private void layoutEventsRowToLeft(final int channelIndex, int currentX,
-            int currentY, final int firstChildIndex, int currentRowHeight) {
-        // Get number of events
-        final int resizedPercent = calculateResizedPercentOfView(currentRowHeight);
-        int eventWidth = 0;
-        int left = 0;
-        for (int j = firstChildIndex; j >= 0; j--) {
-            View attached = findItemAttachedToWindow(LAYOUT_TYPE_EVENTS,
-                    channelIndex, j);
-            eventWidth = calculateEventWidth(channelIndex, j);
-            attached = layoutChildView(LAYOUT_TYPE_EVENTS, attached,
-                    currentRowHeight, currentY, currentX - eventWidth, resizedPercent,
-                    channelIndex, j);
-            left = currentX - eventWidth;
-            // If child right edge is larger or equals to right
-            // bound of EpgView
-            if (left <= 0) {
-                break;
-            } else {
-                currentX = left - mHorizontalDividerWidth;
+        if (indexToSelect != INVALID_POSITION) {
+            //Event drawn as cell gets its view only when it is selected
+            if (viewToSelect == null) {
+                viewToSelect = layoutChildView(LAYOUT_TYPE_EVENTS, null, currentRowHeight, currentY, leftToSelect,
+                        resizedPercent, channelIndex, indexToSelect);
             }
+            selectNextView(viewToSelect);
+            mDesiredEventPosition = INVALID_POSITION;
+            mFocusedTime = INVALID_POSITION;
         }
-    }
-
-    /**
-     * Calculate offset from absolute selection position
-     *
-     * @param left  Left edge of view
-     * @param right Right edge of view
-     * @return Calculated offset
-     */
-    private int calculateOffsetFromFixedSelection(int left, int right) {
-        int desiredXValue = mSelectionAbsolutePosition;
-        if (mTempSelectedViewOffset > INVALID_POSITION) {
-            desiredXValue = mTempSelectedViewOffset;
-        }
-        if (left <= desiredXValue && right >= desiredXValue) {
-            return 0;
-        } else if (right < desiredXValue) {
-            return (int) (desiredXValue - right);
-        } else {
-            return (int) (left - desiredXValue);
-        }
+        GuideTrace.end(traced);
     }
 
     /**
@@ -958,35 +1124,38 @@ public class GuideView extends BaseGuideView {
     private View layoutChildView(int layoutType, View attached,
             int currentRowHeight, int currentY, int currentX,
             int resizedPercent, int channelIndex, int eventIndex) {
-        //log("GUIDE VIEW layoutChildView channelIndex=" + channelIndex + ", eventIndex=" + eventIndex);
         int eventWidth = 0;
         if (layoutType == LAYOUT_TYPE_EVENTS) {
             if (mGuideMode == GUIDE_MODE_ON_NOW) {
                 eventWidth = mRectEventsArea.width();
-            } else if (mGuideMode == GUIDE_MODE_IN_TRANSITION
-                    && mRunningEventInfo.get(channelIndex).getEventPosition() == eventIndex) {
-                eventWidth = attached.getLayoutParams().width;
             } else {
                 eventWidth = calculateEventWidth(channelIndex, eventIndex);
+                if (mGuideMode == GUIDE_MODE_IN_TRANSITION) {
+                    // Running event keeps its wider ON_NOW width during transition, animation clips it
+                    final GuideEventAnimInfo animEventInfo = mRunningEventInfo.get(channelIndex);
+                    if (animEventInfo != null && animEventInfo.getEventPosition() == eventIndex) {
+                        eventWidth = Math.max(eventWidth, animEventInfo.getStartWidth());
+                    }
+                }
             }
         } else if (layoutType == LAYOUT_TYPE_CHANNEL_INDICATOR) {
             eventWidth = mRectChannelIndicators.width();
         }
         if (attached == null) {
             if (layoutType == LAYOUT_TYPE_CHANNEL_INDICATOR) {
-                attached = mAdapter.getChannelIndicatorView(channelIndex,
-                        mRecycler.getChannelIndicatorView(), GuideView.this);
+                attached = mRecycler.getPrefetchedChannelIndicatorView(channelIndex);
+                if (attached == null) {
+                    attached = bindChannelIndicatorView(channelIndex);
+                }
             } else if (layoutType == LAYOUT_TYPE_EVENTS) {
-                //log("VIEW IS NULL got through adapter");
-                attached = mAdapter.getEventView(channelIndex, eventIndex,
-                        mRecycler.getEventView(eventWidth), GuideView.this);
+                attached = mRecycler.getPrefetchedEventView(channelIndex, eventIndex);
+                if (attached == null) {
+                    attached = bindEventView(channelIndex, eventIndex);
+                }
             }
             addChildView(layoutType, attached, currentX, currentY, eventWidth,
                     currentRowHeight, channelIndex, eventIndex);
         } else {
-            if (layoutType == LAYOUT_TYPE_CHANNEL_INDICATOR) {
-                bringChildToFront(attached);
-            }
             // If event height is changed we must resize its view dimension
             if (attached.getHeight() != currentRowHeight || attached.getWidth() != eventWidth || currentX != attached
                     .getLeft()) {
@@ -995,23 +1164,94 @@ public class GuideView extends BaseGuideView {
             }
             // If current Y coordinate and top position of the view are
             // misplaced we must move a view to desired Y value
-            else if (currentY != attached.getTop()) {
-                attached.offsetTopAndBottom(currentY - attached.getTop());
+            else if (currentY != getTopInGuide(attached)) {
+                offsetChildTopAndBottom(attached, currentY - getTopInGuide(attached));
             }
         }
+        markViewLaidOut(attached);
         return attached;
     }
 
+    @Override
+    protected void prefetch(int directionX, int directionY, long deadlineNs) {
+        if (mGuideMode == GUIDE_MODE_IN_TRANSITION || mRows.isEmpty()) {
+            return;
+        }
+        mRecycler.recycleStalePrefetchedViews(mFirstItemPosition - PREFETCH_ROWS_COUNT,
+                mLastItemPosition + PREFETCH_ROWS_COUNT);
+        // Rows that will enter the screen next
+        if (directionY != 0) {
+            int channelIndex = directionY > 0 ? mLastItemPosition + 1 : mFirstItemPosition - 1;
+            for (int i = 0; i < PREFETCH_ROWS_COUNT; i++) {
+                if (channelIndex < 0 || channelIndex >= mChannelsCount) {
+                    break;
+                }
+                if (!prefetchRow(channelIndex, deadlineNs)) {
+                    return;
+                }
+                channelIndex += directionY;
+            }
+        }
+        // Events that will enter the screen next in every visible row
+        if (directionX != 0 && mGuideMode == GUIDE_MODE_FULL && mCellRenderer == null) {
+            EventsPositionInfo eventsPositionInfo;
+            int channelIndex;
+            int eventIndex;
+            for (int i = 0; i < mRows.size(); i++) {
+                channelIndex = mRows.get(i).getChannelIndex();
+                eventsPositionInfo = mEventPositions.get(channelIndex);
+                if (eventsPositionInfo == null) {
+                    continue;
+                }
+                eventIndex = directionX > 0 ? eventsPositionInfo.getLastVisibleEvent() + 1 : eventsPositionInfo
+                        .getFirstVisibleEvent() - 1;
+                if (eventIndex < 0 || eventIndex >= getEventsCount(channelIndex)) {
+                    continue;
+                }
+                if (!prefetchEventView(channelIndex, eventIndex, calculateEventWidth(channelIndex, eventIndex),
+                        mRows.get(i).getHeight(), deadlineNs)) {
+                    return;
+                }
+            }
+        }
+    }
+
     /**
-     * Calculate width of view that represents desired event.
+     * Prefetch channel indicator and events of row that is not yet visible
      *
-     * @param channelIndex Channel index
-     * @param eventIndex   Event index
-     * @return Calculated width of view.
+     * @param channelIndex Channel index of row
+     * @param deadlineNs   System.nanoTime() value until prefetch is allowed to run
+     * @return FALSE if there is no more time left in this frame, TRUE otherwise
      */
-    private int calculateEventWidth(int channelIndex, int eventIndex) {
-        return mAdapter.getEventWidth(channelIndex, eventIndex) * mOneMinuteWidth
-                - (eventIndex == 0 ? 0 : mHorizontalDividerWidth);
+    private boolean prefetchRow(int channelIndex, long deadlineNs) {
+        if (!prefetchChannelIndicatorView(channelIndex, mRectChannelIndicators.width(), mChannelRowHeight,
+                deadlineNs)) {
+            return false;
+        }
+        if (mGuideMode == GUIDE_MODE_ON_NOW) {
+            return prefetchEventView(channelIndex, mAdapter.getNowEventIndex(channelIndex), mRectEventsArea.width(),
+                    mChannelRowHeight, deadlineNs);
+        }
+        //Events drawn by cell renderer do not have views
+        if (mCellRenderer != null) {
+            return true;
+        }
+        final FirstPositionInfo firstPositionInfo = getPositionAndOffsetForScrollValue(mCurrentOffsetX,
+                channelIndex);
+        if (firstPositionInfo.getFirstChildIndex() < 0) {
+            return true;
+        }
+        final int eventCount = getEventsCount(channelIndex);
+        int currentX = mRectEventsArea.left - firstPositionInfo.getFirstChildInvisiblePart();
+        int eventWidth;
+        for (int j = firstPositionInfo.getFirstChildIndex(); j < eventCount && currentX < getWidth(); j++) {
+            eventWidth = calculateEventWidth(channelIndex, j);
+            if (!prefetchEventView(channelIndex, j, eventWidth, mChannelRowHeight, deadlineNs)) {
+                return false;
+            }
+            currentX += eventWidth + mHorizontalDividerWidth;
+        }
+        return true;
     }
 
     public int getGuideMode() {
@@ -0,0 +1,253 @@
+package com.epg;
+
+import android.util.SparseArray;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Pool of recycled event and channel indicator views. Every guide has its own pool by default, one pool can be shared
+ * by several guides with {@link BaseGuideView#setViewPool(GuideViewPool)}, so views recycled by one guide are reused
+ * by another. Guides that share pool must belong to the same window, and their adapters must use the same view type
+ * only for compatible views.
+ * <p/>
+ * Views are pooled by view type declared by adapter, see {@link IGuideAdapter#getEventViewType(int, int)}. Views that
+ * are put into full bucket are dropped. When adapter of guide is changed only view types that no other guide of pool
+ * uses are dropped, and pool is trimmed on hide only when none of its guides is visible.
+ */
+public class GuideViewPool {
+    /**
+     * Limit that disables dropping of views
+     */
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final SparseArray<ArrayDeque<View>> mEventViews = new SparseArray<ArrayDeque<View>>();
+    private final SparseArray<ArrayDeque<View>> mChannelIndicatorViews = new SparseArray<ArrayDeque<View>>();
+    private int mMaxEventViewsPerType = NO_LIMIT;
+    private final SparseIntArray mMaxEventViews = new SparseIntArray();
+    private int mMaxChannelIndicatorViewsPerType = NO_LIMIT;
+    private final SparseIntArray mMaxChannelIndicatorViews = new SparseIntArray();
+    /**
+     * Guides that currently use this pool
+     */
+    private final ArrayList<BaseGuideView> mGuides = new ArrayList<BaseGuideView>();
+
+    void attach(BaseGuideView guide) {
+        if (!mGuides.contains(guide)) {
+            mGuides.add(guide);
+        }
+    }
+
+    void detach(BaseGuideView guide) {
+        mGuides.remove(guide);
+    }
+
+    /**
+     * @return TRUE if any guide that uses this pool is currently visible
+     */
+    boolean hasVisibleGuide() {
+        for (int i = mGuides.size() - 1; i >= 0; i--) {
+            if (mGuides.get(i).isGuideVisible()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop views of types that were recycled by desired guide and are not used by any other guide of this pool
+     *
+     * @param guide                     Guide whose views are dropped
+     * @param eventViewTypes            Event view types recycled by guide, keys are view types
+     * @param channelIndicatorViewTypes Channel indicator view types recycled by guide, keys are view types
+     */
+    void clearViewTypesOf(BaseGuideView guide, SparseIntArray eventViewTypes,
+            SparseIntArray channelIndicatorViewTypes) {
+        int viewType;
+        for (int i = eventViewTypes.size() - 1; i >= 0; i--) {
+            viewType = eventViewTypes.keyAt(i);
+            if (!isViewTypeUsedByOthers(guide, viewType, true)) {
+                clear(mEventViews, viewType);
+            }
+        }
+        for (int i = channelIndicatorViewTypes.size() - 1; i >= 0; i--) {
+            viewType = channelIndicatorViewTypes.keyAt(i);
+            if (!isViewTypeUsedByOthers(guide, viewType, false)) {
+                clear(mChannelIndicatorViews, viewType);
+            }
+        }
+    }
+
+    private boolean isViewTypeUsedByOthers(BaseGuideView guide, int viewType, boolean event) {
+        BaseGuideView other;
+        for (int i = mGuides.size() - 1; i >= 0; i--) {
+            other = mGuides.get(i);
+            if (other != guide && other.mRecycler.usesViewType(viewType, event)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void clear(SparseArray<ArrayDeque<View>> views, int viewType) {
+        final ArrayDeque<View> list = views.get(viewType);
+        if (list != null) {
+            list.clear();
+            views.remove(viewType);
+        }
+    }
+
+    /**
+     * Get event view from pool
+     *
+     * @param viewType View type declared by adapter
+     * @return Pulled view, or NULL if there is no such a view inside pool
+     */
+    View getEventView(int viewType) {
+        final ArrayDeque<View> list = mEventViews.get(viewType);
+        return list == null ? null : list.poll();
+    }
+
+    /**
+     * Put event view into pool, view must be already removed or about to be removed from its parent
+     *
+     * @param viewType View type declared by adapter when view was bound
+     * @return TRUE if view was kept, FALSE if it was dropped because its bucket is full
+     */
+    boolean putEventView(View view, int viewType) {
+        return put(mEventViews, view, viewType, mMaxEventViews.get(viewType, mMaxEventViewsPerType));
+    }
+
+    /**
+     * Get channel indicator view from pool
+     *
+     * @param viewType View type declared by adapter
+     * @return Pulled view, or NULL if there is no such a view inside pool
+     */
+    View getChannelIndicatorView(int viewType) {
+        final ArrayDeque<View> list = mChannelIndicatorViews.get(viewType);
+        return list == null ? null : list.poll();
+    }
+
+    /**
+     * Put channel indicator view into pool, view must be already removed or about to be removed from its parent
+     *
+     * @param viewType View type declared by adapter when view was bound
+     * @return TRUE if view was kept, FALSE if it was dropped because its bucket is full
+     */
+    boolean putChannelIndicatorView(View view, int viewType) {
+        return put(mChannelIndicatorViews, view, viewType,
+                mMaxChannelIndicatorViews.get(viewType, mMaxChannelIndicatorViewsPerType));
+    }
+
+    private static boolean put(SparseArray<ArrayDeque<View>> views, View view, int viewType, int max) {
+        ArrayDeque<View> list = views.get(viewType);
+        if (list == null) {
+            list = new ArrayDeque<View>();
+            views.put(viewType, list);
+        }
+        if (list.size() >= max) {
+            return false;
+        }
+        list.offer(view);
+        return true;
+    }
+
+    /**
+     * Drop views until pool contains no more than desired number of views
+     *
+     * @param maxEventViews            Maximum number of event views
+     * @param maxChannelIndicatorViews Maximum number of channel indicator views
+     */
+    public void trimToSize(int maxEventViews, int maxChannelIndicatorViews) {
+        trimToSize(mEventViews, maxEventViews);
+        trimToSize(mChannelIndicatorViews, maxChannelIndicatorViews);
+    }
+
+    private static void trimToSize(SparseArray<ArrayDeque<View>> views, int max) {
+        int count = count(views);
+        // Remove views equally from every type so no type is favored
+        while (count > max) {
+            for (int i = views.size() - 1; i >= 0 && count > max; i--) {
+                ArrayDeque<View> list = views.valueAt(i);
+                if (list.poll() != null) {
+                    count--;
+                }
+                if (list.isEmpty()) {
+                    views.removeAt(i);
+                }
+            }
+        }
+    }
+
+    private static int count(SparseArray<ArrayDeque<View>> views) {
+        int count = 0;
+        for (int i = 0; i < views.size(); i++) {
+            count += views.valueAt(i).size();
+        }
+        return count;
+    }
+
+    /**
+     * Drop all views from pool, including views of other guides that use this pool
+     */
+    public void clear() {
+        mEventViews.clear();
+        mChannelIndicatorViews.clear();
+    }
+
+    /**
+     * @return Number of event views currently in pool
+     */
+    public int getEventViewsCount() {
+        return count(mEventViews);
+    }
+
+    /**
+     * @return Number of channel indicator views currently in pool
+     */
+    public int getChannelIndicatorViewsCount() {
+        return count(mChannelIndicatorViews);
+    }
+
+    public int getMaxEventViewsPerType() {
+        return mMaxEventViewsPerType;
+    }
+
+    /**
+     * @param max Maximum number of pooled event views of every view type, or NO_LIMIT
+     */
+    public void setMaxEventViewsPerType(int max) {
+        mMaxEventViewsPerType = max;
+    }
+
+    /**
+     * @param viewType View type of event views
+     * @param max      Maximum number of pooled event views of desired type, overrides limit for every type
+     */
+    public void setMaxEventViews(int viewType, int max) {
+        mMaxEventViews.put(viewType, max);
+    }
+
+    public int getMaxChannelIndicatorViewsPerType() {
+        return mMaxChannelIndicatorViewsPerType;
+    }
+
+    /**
+     * @param max Maximum number of pooled channel indicator views of every view type, or NO_LIMIT
+     */
+    public void setMaxChannelIndicatorViewsPerType(int max) {
+        mMaxChannelIndicatorViewsPerType = max;
+    }
+
+    /**
+     * @param viewType View type of channel indicator views
+     * @param max      Maximum number of pooled channel indicator views of desired type, overrides limit for every
+     *                 type
+     */
+    public void setMaxChannelIndicatorViews(int viewType, int max) {
+        mMaxChannelIndicatorViews.put(viewType, max);
+    }
+}
@@ -138,6 +138,71 @@ public interface IGuideAdapter {
      */
     View getChannelIndicatorView(int channel, View convertView, ViewGroup parent);
 
+    /**
+     * Type of event view, guide passes only recycled views of the same type as convert views. Adapters of guides
+     * that share view pool must use the same type only for compatible views.
+     *
+     * @param channel index of desired channel
+     * @param event   index of desired event
+     * @return Type of view of desired event
+     */
+    int getEventViewType(int channel, int event);
+
+    /**
+     * Type of channel indicator view, guide passes only recycled views of the same type as convert views.
+     *
+     * @param channel index of desired channel
+     * @return Type of view of desired channel indicator
+     */
+    int getChannelIndicatorViewType(int channel);
+
+    /**
+     * Get renderer that draws events directly on guide canvas. If renderer is supplied guide will not call
+     * {@link #getEventView(int, int, android.view.View, android.view.ViewGroup)} for events that are not selected.
+     *
+     * @return Cell renderer, or NULL if events should be represented with views.
+     */
+    GuideCellRenderer getEventCellRenderer();
+
+    /**
+     * Check if views of desired adapter can be reused by this adapter. When guide swaps compatible adapters its
+     * active and recycled views are passed to this adapter as convert views.
+     *
+     * @param adapter Previous adapter of guide
+     * @return TRUE if this adapter can bind views created by desired adapter
+     */
+    boolean hasCompatibleViews(IGuideAdapter adapter);
+
+    /**
+     * Bucket of event view width. When guide is zoomed, views of events whose width moves to another bucket are bound
+     * again so adapter can show more or less content, other views are only resized. New width is set to layout params
+     * of view before it is bound.
+     *
+     * @param width Width of event view in pixels
+     * @return Bucket of desired width
+     */
+    int getEventWidthBucket(int width);
+
+    /**
+     * @return TRUE if channel and event ids stay the same when data changes. Guide then keeps views of channels and
+     * events that only moved to another index and keeps selected channel on the same place on screen. Kept views are
+     * bound again in place, so content of channel or event changed under the same id is shown.
+     */
+    boolean hasStableIds();
+
+    /**
+     * @param channel index of desired channel
+     * @return Id of channel, used only if {@link #hasStableIds()} returns TRUE
+     */
+    long getChannelId(int channel);
+
+    /**
+     * @param channel index of desired channel
+     * @param event   index of desired event
+     * @return Id of event unique within its channel, used only if {@link #hasStableIds()} returns TRUE
+     */
+    long getEventId(int channel, int event);
+
     /**
      * @return true if this adapter doesn't contain any data. This is used to
      * determine whether the empty view should be displayed. A typical
@@ -14,14 +14,29 @@ import java.util.Calendar;
 import java.util.Random;
 
 public class MyActivity extends Activity {
+    /**
+     * Number of channels of synthetic lineup, demo uses synthetic lineup only if this extra is set
+     */
+    public static final String EXTRA_SYNTHETIC_CHANNELS = "com.epg.extra.SYNTHETIC_CHANNELS";
+    /**
+     * Number of days of synthetic lineup
+     */
+    public static final String EXTRA_SYNTHETIC_DAYS = "com.epg.extra.SYNTHETIC_DAYS";
+    /**
+     * Seed of synthetic lineup
+     */
+    public static final String EXTRA_SYNTHETIC_SEED = "com.epg.extra.SYNTHETIC_SEED";
+
     private GuideView mGuideView;
+    private int mSyntheticSeed;
 
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.main);
         mGuideView = (GuideView) findViewById(R.id.guideView);
-        mGuideView.setAdapter(new Adapter());
+        mSyntheticSeed = getIntent().getIntExtra(EXTRA_SYNTHETIC_SEED, 0);
+        mGuideView.setAdapter(createAdapter());
         mGuideView.setOnItemClickListener(new GuideAdapterView.OnItemClickListener() {
             @Override
             public void onItemClick(GuideAdapterView<?> parent, View view, int channelPosition,
@@ -83,10 +98,28 @@ public class MyActivity extends Activity {
         });
     }
 
+    /**
+     * @return Adapter with synthetic lineup if it is requested by intent, or adapter with fixed demo data
+     */
+    private BaseGuideAdapter createAdapter() {
+        final int channelsCount = getIntent().getIntExtra(EXTRA_SYNTHETIC_CHANNELS, 0);
+        if (channelsCount > 0) {
+            final int days = getIntent().getIntExtra(EXTRA_SYNTHETIC_DAYS, SyntheticGuideAdapter.MIN_DAYS);
+            return new SyntheticGuideAdapter(Calendar.getInstance(),
+                    Math.min(channelsCount, SyntheticGuideAdapter.MAX_CHANNELS_COUNT),
+                    Math.max(SyntheticGuideAdapter.MIN_DAYS, Math.min(days, SyntheticGuideAdapter.MAX_DAYS)),
+                    mSyntheticSeed);
+        }
+        return new Adapter();
+    }
+
     @Override
     public boolean onKeyDown(int keyCode, KeyEvent event) {
         switch (keyCode) {
         case KeyEvent.KEYCODE_MEDIA_RECORD: {
+            if (!(mGuideView.getAdapter() instanceof Adapter)) {
+                return true;
+            }
             if (mGuideView.getGuideMode() == GuideView.GUIDE_MODE_ON_NOW) {
                 ((Adapter) mGuideView.getAdapter()).runningEvent += 1;
                 mGuideView.getAdapter().notifyChannelListChanged();
@@ -97,7 +130,9 @@ public class MyActivity extends Activity {
             return true;
         }
         case KeyEvent.KEYCODE_MEDIA_PLAY_PAUSE: {
-            mGuideView.setAdapter(new Adapter());
+            // Synthetic lineup is changed by using next seed
+            mSyntheticSeed++;
+            mGuideView.swapAdapter(createAdapter());
             return true;
         }
         case KeyEvent.KEYCODE_MEDIA_FAST_FORWARD: {
@@ -228,5 +263,10 @@ public class MyActivity extends Activity {
             ((TextView) convertView).setText("CHANNEL " + channel);
             return convertView;
         }
+
+        @Override
+        public boolean hasCompatibleViews(IGuideAdapter adapter) {
+            return adapter instanceof Adapter;
+        }
     }
 }
@@ -22,7 +22,7 @@ class NormalToFastScrollFinishedListener implements
         final BaseGuideView baseGuideView = mBaseGuideView.get();
         baseGuideView.mScrollState = BaseGuideView.SCROLL_STATE_FAST_SCROLL;
         baseGuideView.fireOnLongPressScrollStateChanged();
-        baseGuideView.mSmoothScrollRunnable.resumeVerticalScroll(mDifference);
+        baseGuideView.mSmoothScrollAnimator.resumeVerticalScroll(mDifference);
         return false;
     }
 }
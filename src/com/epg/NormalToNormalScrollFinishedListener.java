@@ -11,19 +11,19 @@ class NormalToNormalScrollFinishedListener implements
         BaseGuideView.OnAnimationFinishedListener {
     private int mDesiredChannelPosition;
     private final int mScrollDuration;
-    private WeakReference<BaseGuideView.SmoothScrollRunnable> mSmoothScrollRunnable;
+    private WeakReference<BaseGuideView.SmoothScrollAnimator> mSmoothScrollAnimator;
 
-    NormalToNormalScrollFinishedListener(BaseGuideView.SmoothScrollRunnable smoothScrollRunnable, int
+    NormalToNormalScrollFinishedListener(BaseGuideView.SmoothScrollAnimator smoothScrollAnimator, int
             desiredChannelPosition,
             int duration) {
-        this.mSmoothScrollRunnable = new WeakReference<BaseGuideView.SmoothScrollRunnable>(smoothScrollRunnable);
+        this.mSmoothScrollAnimator = new WeakReference<BaseGuideView.SmoothScrollAnimator>(smoothScrollAnimator);
         this.mDesiredChannelPosition = desiredChannelPosition;
         this.mScrollDuration = duration;
     }
 
     @Override
     public boolean animationFinished() {
-        mSmoothScrollRunnable.get().startVerticalScrollToPosition(
+        mSmoothScrollAnimator.get().startVerticalScrollToPosition(
                 mDesiredChannelPosition, mScrollDuration);
         return false;
     }
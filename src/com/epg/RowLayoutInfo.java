@@ -0,0 +1,39 @@
+package com.epg;
+
+/**
+ * Holds state of channel row at the time its event views were laid out. Row that is only moved vertically since
+ * then does not have to be laid out again, its views are already moved by scroll. Instances are reused.
+ */
+class RowLayoutInfo {
+    private int mTop;
+    private int mHeight;
+    private int mOffsetX;
+    private int mOffsetY;
+    private EventsPositionInfo mEventsPositionInfo;
+
+    void set(int top, int height, int offsetX, int offsetY, EventsPositionInfo eventsPositionInfo) {
+        mTop = top;
+        mHeight = height;
+        mOffsetX = offsetX;
+        mOffsetY = offsetY;
+        mEventsPositionInfo = eventsPositionInfo;
+    }
+
+    /**
+     * @return TRUE if views of row are already at desired position and size
+     */
+    boolean matches(GuideRowInfo guideRowInfo, int offsetX, int offsetY) {
+        return mHeight == guideRowInfo.getHeight() && mOffsetX == offsetX
+                && mTop - (offsetY - mOffsetY) == guideRowInfo.getTop();
+    }
+
+    @Override
+    public String toString() {
+        return "RowLayoutInfo [mTop=" + mTop + ", mHeight=" + mHeight + ", mOffsetX=" + mOffsetX + ", mOffsetY="
+                + mOffsetY + "]";
+    }
+
+    public EventsPositionInfo getEventsPositionInfo() {
+        return mEventsPositionInfo;
+    }
+}
@@ -0,0 +1,284 @@
+package com.epg;
+
+import android.graphics.Color;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Adapter with generated lineup of desired size, used for benchmarks and demo. Events have realistic mix of durations
+ * from one minute fillers to six hour movies, and some of them are gaps without regular data. Lineup depends only on
+ * seed, so the same seed always produces the same lineup. Events of channel are generated when channel is first
+ * accessed and only recently used channels are kept in memory, so lineups with thousands of channels can be used.
+ */
+public class SyntheticGuideAdapter extends BaseGuideAdapter {
+    public static final int MIN_CHANNELS_COUNT = 1;
+    public static final int MAX_CHANNELS_COUNT = 10000;
+    public static final int MIN_DAYS = 1;
+    public static final int MAX_DAYS = 14;
+
+    private static final int MINUTES_IN_DAY = 24 * 60;
+    /**
+     * Number of generated channels kept in memory
+     */
+    private static final int CACHED_CHANNELS_COUNT = 256;
+    /**
+     * Probability that event is gap, in percents
+     */
+    private static final int GAP_PERCENT = 3;
+    /**
+     * Probability that channel has no events at all, in percents
+     */
+    private static final int EMPTY_CHANNEL_PERCENT = 1;
+
+    private final int mChannelsCount;
+    private final Calendar mStartTime;
+    private final Calendar mEndTime;
+    private final int mDurationMinutes;
+    private final long mSeed;
+    private GuideClock mClock = GuideClock.SYSTEM;
+    private final LinkedHashMap<Integer, ChannelEvents> mChannels =
+            new LinkedHashMap<Integer, ChannelEvents>(CACHED_CHANNELS_COUNT, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, ChannelEvents> eldest) {
+                    return size() > CACHED_CHANNELS_COUNT;
+                }
+            };
+
+    /**
+     * @param startTime     Start time of time line, it is rounded down to whole hour
+     * @param channelsCount Number of channels, from {@link #MIN_CHANNELS_COUNT} to {@link #MAX_CHANNELS_COUNT}
+     * @param days          Length of time line in days, from {@link #MIN_DAYS} to {@link #MAX_DAYS}
+     * @param seed          Seed of generated lineup
+     */
+    public SyntheticGuideAdapter(Calendar startTime, int channelsCount, int days, long seed) {
+        if (channelsCount < MIN_CHANNELS_COUNT || channelsCount > MAX_CHANNELS_COUNT) {
+            throw new IllegalArgumentException("Invalid channels count " + channelsCount);
+        }
+        if (days < MIN_DAYS || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Invalid number of days " + days);
+        }
+        mChannelsCount = channelsCount;
+        mStartTime = (Calendar) startTime.clone();
+        mStartTime.set(Calendar.MILLISECOND, 0);
+        mStartTime.set(Calendar.SECOND, 0);
+        mStartTime.set(Calendar.MINUTE, 0);
+        mEndTime = (Calendar) mStartTime.clone();
+        mEndTime.add(Calendar.DATE, days);
+        mDurationMinutes = days * MINUTES_IN_DAY;
+        mSeed = seed;
+    }
+
+    public GuideClock getClock() {
+        return mClock;
+    }
+
+    /**
+     * @param clock Clock used to find now events, or null for system clock
+     */
+    public void setClock(GuideClock clock) {
+        mClock = clock == null ? GuideClock.SYSTEM : clock;
+    }
+
+    /**
+     * @return Events of channel, generated if channel is not in memory
+     */
+    private ChannelEvents getChannelEvents(int channel) {
+        ChannelEvents events = mChannels.get(channel);
+        if (events == null) {
+            events = generate(channel);
+            mChannels.put(channel, events);
+        }
+        return events;
+    }
+
+    private ChannelEvents generate(int channel) {
+        final Random random = new Random(mSeed * 31 + channel);
+        final ChannelEvents events = new ChannelEvents();
+        if (random.nextInt(100) < EMPTY_CHANNEL_PERCENT) {
+            events.mOffsets = new int[] { 0 };
+            events.mGaps = new boolean[0];
+            return events;
+        }
+        // Durations are generated until time line is filled, so number of events is not known in advance
+        int[] offsets = new int[64];
+        boolean[] gaps = new boolean[64];
+        int count = 0;
+        int offset = 0;
+        int duration;
+        boolean gap;
+        while (offset < mDurationMinutes) {
+            gap = random.nextInt(100) < GAP_PERCENT;
+            duration = gap ? 5 * (1 + random.nextInt(48)) : generateDuration(random);
+            duration = Math.min(duration, mDurationMinutes - offset);
+            if (count + 1 == offsets.length) {
+                offsets = grow(offsets);
+                gaps = grow(gaps);
+            }
+            gaps[count] = gap;
+            offset += duration;
+            offsets[++count] = offset;
+        }
+        events.mOffsets = new int[count + 1];
+        System.arraycopy(offsets, 0, events.mOffsets, 0, count + 1);
+        events.mGaps = new boolean[count];
+        System.arraycopy(gaps, 0, events.mGaps, 0, count);
+        return events;
+    }
+
+    /**
+     * @return Duration of regular event in minutes
+     */
+    private static int generateDuration(Random random) {
+        final int type = random.nextInt(100);
+        if (type < 10) {
+            // Filler
+            return 1 + random.nextInt(5);
+        } else if (type < 40) {
+            // Short show
+            return 5 * (2 + random.nextInt(5));
+        } else if (type < 75) {
+            // Regular show
+            return 5 * (6 + random.nextInt(7));
+        } else if (type < 95) {
+            // Long show
+            return 15 * (6 + random.nextInt(3));
+        }
+        // Movie or sport event
+        return 30 * (6 + random.nextInt(7));
+    }
+
+    private static int[] grow(int[] array) {
+        final int[] newArray = new int[array.length * 2];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+        return newArray;
+    }
+
+    private static boolean[] grow(boolean[] array) {
+        final boolean[] newArray = new boolean[array.length * 2];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+        return newArray;
+    }
+
+    @Override
+    public int getChannelsCount() {
+        return mChannelsCount;
+    }
+
+    @Override
+    public int getEventsCount(int channel) {
+        return getChannelEvents(channel).mGaps.length;
+    }
+
+    @Override
+    public int getEventWidth(int channel, int event) {
+        final int[] offsets = getChannelEvents(channel).mOffsets;
+        return offsets[event + 1] - offsets[event];
+    }
+
+    @Override
+    public Calendar getStartTime() {
+        return mStartTime;
+    }
+
+    @Override
+    public Calendar getEndTime() {
+        return mEndTime;
+    }
+
+    @Override
+    public int getNowEventIndex(int channel) {
+        final long nowMinutes = (mClock.currentTimeMillis() - mStartTime.getTimeInMillis()) / 60000;
+        final int[] offsets = getChannelEvents(channel).mOffsets;
+        if (nowMinutes < 0 || nowMinutes >= offsets[offsets.length - 1]) {
+            return GuideAdapterView.INVALID_POSITION;
+        }
+        int low = 0;
+        int high = offsets.length - 2;
+        int middle;
+        while (low < high) {
+            middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= nowMinutes) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public boolean hasRegularData(int channel, int event) {
+        return !getChannelEvents(channel).mGaps[event];
+    }
+
+    @Override
+    public Object getItem(int channel) {
+        return null;
+    }
+
+    @Override
+    public Object getItem(int channel, int event) {
+        return null;
+    }
+
+    @Override
+    public View getEventView(int channel, int event, View convertView, ViewGroup parent) {
+        if (convertView == null) {
+            convertView = new TextView(parent.getContext());
+        }
+        final TextView textView = (TextView) convertView;
+        if (hasRegularData(channel, event)) {
+            // Color depends only on position so rebound views look the same as newly created ones
+            final int hash = (channel * 31 + event) * 0x9E3779B1;
+            textView.setBackgroundColor(Color.argb(128, hash >>> 24, (hash >>> 16) & 0xFF, (hash >>> 8) & 0xFF));
+            textView.setText("Event " + event);
+        } else {
+            textView.setBackgroundColor(0x40999999);
+            textView.setText("No information");
+        }
+        return convertView;
+    }
+
+    @Override
+    public View getChannelIndicatorView(int channel, View convertView, ViewGroup parent) {
+        if (convertView == null) {
+            convertView = new TextView(parent.getContext());
+            convertView.setBackgroundColor(0xFF999999);
+        }
+        ((TextView) convertView).setText("CHANNEL " + channel);
+        return convertView;
+    }
+
+    @Override
+    public boolean hasCompatibleViews(IGuideAdapter adapter) {
+        return adapter instanceof SyntheticGuideAdapter;
+    }
+
+    @Override
+    public boolean hasStableIds() {
+        return true;
+    }
+
+    @Override
+    public long getEventId(int channel, int event) {
+        // Start minute identifies event within channel
+        return ((long) channel << 32) | getChannelEvents(channel).mOffsets[event];
+    }
+
+    /**
+     * Generated events of one channel
+     */
+    private static class ChannelEvents {
+        /**
+         * Start offsets of events in minutes, last element is end of last event
+         */
+        int[] mOffsets;
+        boolean[] mGaps;
+    }
+}
@@ -0,0 +1,138 @@
+package com.epg;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Standard benchmark scenarios of guide. Every scenario starts with new synthetic lineup and empty view pool, is
+ * replayed with {@link GuideReplay} and its result can be checked with {@link GuidePerformanceBudget}. Width of one
+ * minute is fixed in pixels, so time range on screen and counts of views do not depend on screen density. Scenarios
+ * must be run on UI thread.
+ */
+public class GuideBenchmark {
+    /**
+     * First layout of guide with empty view pool
+     */
+    public static final String SCENARIO_COLD_LAYOUT = "cold_layout";
+    /**
+     * 100 steps down, one channel at a time
+     */
+    public static final String SCENARIO_VERTICAL_STEPS = "vertical_steps";
+    /**
+     * Long press fast scroll across 500 channels
+     */
+    public static final String SCENARIO_FAST_SCROLL = "fast_scroll";
+    /**
+     * Event by event moving to the right through two days
+     */
+    public static final String SCENARIO_HORIZONTAL_PAGING = "horizontal_paging";
+    /**
+     * Transition from on now to full guide
+     */
+    public static final String SCENARIO_MODE_TRANSITION = "mode_transition";
+
+    public static final String[] SCENARIOS = { SCENARIO_COLD_LAYOUT, SCENARIO_VERTICAL_STEPS, SCENARIO_FAST_SCROLL,
+            SCENARIO_HORIZONTAL_PAGING, SCENARIO_MODE_TRANSITION };
+
+    public static final int CHANNELS_COUNT = 1000;
+    public static final int DAYS = 3;
+    public static final long SEED = 1;
+    /**
+     * Width of one minute in pixels
+     */
+    public static final int ONE_MINUTE_WIDTH = 6;
+
+    private static final int VERTICAL_STEPS_COUNT = 100;
+    private static final int FAST_SCROLL_CHANNELS_COUNT = 500;
+    /**
+     * Enough presses to move through two days of synthetic lineup
+     */
+    private static final int HORIZONTAL_STEPS_COUNT = 200;
+    /**
+     * Time between key presses, longer than smooth scroll so every press starts from stable position
+     */
+    private static final int STEP_INTERVAL_MS = BaseGuideView.SMOOTH_SCROLL_DURATION + 100;
+    /**
+     * Time between key repeats of long press, longer than fast scroll throttle of guide so every repeat moves
+     */
+    private static final int REPEAT_INTERVAL_MS = BaseGuideView.SMOOTH_FAST_SCROLL_DURATION;
+
+    private GuideBenchmark() {
+    }
+
+    /**
+     * @return Replay script of desired scenario
+     */
+    public static String createScript(String scenario) {
+        final StringBuilder builder = new StringBuilder();
+        long time = 0;
+        if (SCENARIO_COLD_LAYOUT.equals(scenario)) {
+            builder.append("0 wait\n");
+        } else if (SCENARIO_VERTICAL_STEPS.equals(scenario)) {
+            for (int i = 0; i < VERTICAL_STEPS_COUNT; i++, time += STEP_INTERVAL_MS) {
+                appendKeyPress(builder, time, "DPAD_DOWN");
+            }
+        } else if (SCENARIO_FAST_SCROLL.equals(scenario)) {
+            builder.append(time).append(" key_down DPAD_DOWN\n");
+            for (int i = 0; i < FAST_SCROLL_CHANNELS_COUNT; i++) {
+                time += REPEAT_INTERVAL_MS;
+                builder.append(time).append(" key_repeat DPAD_DOWN\n");
+            }
+            time += REPEAT_INTERVAL_MS;
+            builder.append(time).append(" key_up DPAD_DOWN\n");
+        } else if (SCENARIO_HORIZONTAL_PAGING.equals(scenario)) {
+            for (int i = 0; i < HORIZONTAL_STEPS_COUNT; i++, time += STEP_INTERVAL_MS) {
+                appendKeyPress(builder, time, "DPAD_RIGHT");
+            }
+        } else if (SCENARIO_MODE_TRANSITION.equals(scenario)) {
+            // Right key in on now mode starts transition to full guide
+            appendKeyPress(builder, time, "DPAD_RIGHT");
+        } else {
+            throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+        builder.append(time + TimeUnit.SECONDS.toMillis(1)).append(" wait\n");
+        return builder.toString();
+    }
+
+    private static void appendKeyPress(StringBuilder builder, long time, String key) {
+        builder.append(time).append(" key_down ").append(key).append('\n');
+        builder.append(time + 50).append(" key_up ").append(key).append('\n');
+    }
+
+    /**
+     * Run scenario on guide. Adapter, view pool and mode of guide are replaced.
+     *
+     * @param guideView Guide to run scenario on
+     * @param scenario  Name of scenario
+     * @param width     Width of guide
+     * @param height    Height of guide
+     * @return Result of replayed scenario
+     */
+    public static GuideReplay.Result run(GuideView guideView, String scenario, int width, int height) {
+        final String script = createScript(scenario);
+        // Fixed start and now time so every run has the same now events
+        final Calendar startTime = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        startTime.clear();
+        startTime.set(2015, Calendar.JANUARY, 1);
+        final long nowMillis = startTime.getTimeInMillis() + TimeUnit.HOURS.toMillis(1);
+        final SyntheticGuideAdapter adapter = new SyntheticGuideAdapter(startTime, CHANNELS_COUNT, DAYS, SEED);
+        adapter.setClock(new GuideClock() {
+            @Override
+            public long currentTimeMillis() {
+                return nowMillis;
+            }
+        });
+        guideView.setViewPool(null);
+        // Width of one minute can be set directly only without adapter
+        guideView.setAdapter(null);
+        guideView.setOneMinuteWidth(ONE_MINUTE_WIDTH);
+        guideView.setAdapter(adapter);
+        guideView.changeGuideMode(SCENARIO_MODE_TRANSITION.equals(scenario) ? GuideView.GUIDE_MODE_ON_NOW
+                : GuideView.GUIDE_MODE_FULL);
+        final GuideReplay replay = new GuideReplay(guideView, script);
+        replay.setStartTimeMillis(nowMillis);
+        return replay.run(width, height);
+    }
+}
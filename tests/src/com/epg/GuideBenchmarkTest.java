@@ -0,0 +1,130 @@
+package com.epg;
+
+import android.os.Build;
+import android.test.ActivityInstrumentationTestCase2;
+import android.test.InstrumentationTestRunner;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs every {@link GuideBenchmark} scenario on guide of demo activity and checks its result against baseline in
+ * assets of test project. Counts are checked on every device, time budgets only on reference device named in
+ * baseline. Scenario without budgets fails, so missing baseline is not mistaken for passed check.
+ * <p/>
+ * Baseline is recorded on reference device and copied to assets with
+ * <pre>
+ * adb shell am instrument -w -e class com.epg.GuideBenchmarkTest -e recordBaseline true \
+ *         com.epg.tests/android.test.InstrumentationTestRunner
+ * adb pull /sdcard/Android/data/com.epg/files/guide_performance_budget.properties tests/assets/
+ * </pre>
+ */
+public class GuideBenchmarkTest extends ActivityInstrumentationTestCase2<MyActivity> {
+    private static final String TAG = "GuideBenchmarkTest";
+    /**
+     * Instrumentation argument that records new baseline instead of checking budgets
+     */
+    private static final String ARGUMENT_RECORD_BASELINE = "recordBaseline";
+    /**
+     * Size of guide in every scenario, baseline is valid only for this size
+     */
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    public GuideBenchmarkTest() {
+        super(MyActivity.class);
+    }
+
+    public void testScenariosWithinBudgets() throws IOException {
+        final GuideReplay.Result[] results = runScenarios();
+        final String device = getDeviceName();
+        if (isRecordingBaseline()) {
+            recordBaseline(results, device);
+            return;
+        }
+        final GuidePerformanceBudget budget = loadBaseline();
+        final boolean referenceDevice = device.equals(budget.getReferenceDevice());
+        if (!referenceDevice) {
+            Log.w(TAG, "Time budgets are not checked, baseline was recorded on " + budget.getReferenceDevice()
+                    + " and test runs on " + device);
+        }
+        final List<String> violations = new ArrayList<String>();
+        String scenario;
+        for (int i = 0; i < GuideBenchmark.SCENARIOS.length; i++) {
+            scenario = GuideBenchmark.SCENARIOS[i];
+            Log.i(TAG, scenario + " " + results[i]);
+            if (!budget.hasBudgets(scenario)) {
+                violations.add(scenario + " has no budgets, record baseline on reference device");
+            }
+            violations.addAll(budget.check(scenario, results[i], referenceDevice));
+        }
+        assertTrue(violations.toString(), violations.isEmpty());
+    }
+
+    private GuideReplay.Result[] runScenarios() {
+        final GuideView guideView = (GuideView) getActivity().findViewById(R.id.guideView);
+        final GuideReplay.Result[] results = new GuideReplay.Result[GuideBenchmark.SCENARIOS.length];
+        for (int i = 0; i < GuideBenchmark.SCENARIOS.length; i++) {
+            final int index = i;
+            // Every scenario runs in its own message so main thread is not blocked by all of them at once
+            getInstrumentation().runOnMainSync(new Runnable() {
+                @Override
+                public void run() {
+                    results[index] = GuideBenchmark.run(guideView, GuideBenchmark.SCENARIOS[index], WIDTH, HEIGHT);
+                }
+            });
+        }
+        return results;
+    }
+
+    private boolean isRecordingBaseline() {
+        // Instrumentation arguments are available since API 18
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2
+                && getInstrumentation() instanceof InstrumentationTestRunner
+                && "true".equals(((InstrumentationTestRunner) getInstrumentation()).getArguments()
+                .getString(ARGUMENT_RECORD_BASELINE));
+    }
+
+    private GuidePerformanceBudget loadBaseline() throws IOException {
+        // Baseline is in assets of test project, it is not part of guide
+        final InputStream inputStream = getInstrumentation().getContext().getAssets()
+                .open(GuidePerformanceBudget.BASELINE_ASSET);
+        try {
+            return GuidePerformanceBudget.load(inputStream);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private void recordBaseline(GuideReplay.Result[] results, String device) throws IOException {
+        final GuidePerformanceBudget budget = new GuidePerformanceBudget();
+        budget.setReferenceDevice(device);
+        for (int i = 0; i < GuideBenchmark.SCENARIOS.length; i++) {
+            budget.record(GuideBenchmark.SCENARIOS[i], results[i]);
+        }
+        final File file = new File(getActivity().getExternalFilesDir(null), GuidePerformanceBudget.BASELINE_ASSET);
+        final OutputStream outputStream = new FileOutputStream(file);
+        try {
+            budget.store(outputStream, "Performance budgets of GuideBenchmark scenarios, recorded by GuideBenchmarkTest"
+                    + " with guide of " + WIDTH + "x" + HEIGHT + ".\n"
+                    + "Keys are scenario.budget, layout time is in microseconds. Time budgets are checked only on"
+                    + " reference device.");
+        } finally {
+            outputStream.close();
+        }
+        Log.i(TAG, "Baseline of " + device + " is recorded to " + file);
+    }
+
+    /**
+     * @return Name of device in form in which it is stored in baseline
+     */
+    private static String getDeviceName() {
+        return Build.MANUFACTURER + " " + Build.MODEL + " API " + Build.VERSION.SDK_INT;
+    }
+}
@@ -0,0 +1,192 @@
+package com.epg;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+/**
+ * Checks notifications calculated by {@link GuideDiff}. Calculation uses only plain Java, so test runs on JVM the
+ * same way as {@link GuideNavigationReplayTest}.
+ */
+public class GuideDiffTest extends TestCase {
+
+    public void testNoChangeIsEmpty() {
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3), lineup(1, 2, 3));
+        assertTrue(result.toString(), result.isEmpty());
+    }
+
+    public void testChannelInsertedAboveSelection() {
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3), lineup(9, 1, 2, 3));
+        assertTrue(result.isChannelListChanged());
+        // Moved channels keep their events, inserted channel is bound from scratch
+        assertEquals(0, result.getChangedChannelRangesCount());
+        assertEquals(0, result.getChangedEventListsCount());
+        assertEquals(0, result.getChangedEventRangesCount());
+    }
+
+    public void testChannelRemovedAboveSelection() {
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3), lineup(2, 3));
+        assertTrue(result.isChannelListChanged());
+        assertEquals(0, result.getChangedEventListsCount());
+        assertEquals(0, result.getChangedEventRangesCount());
+    }
+
+    public void testChannelsReordered() {
+        final Lineup newLineup = lineup(3, 1, 2);
+        // Event of moved channel is changed, it is reported under new index of channel
+        newLineup.channel(3).mEvents.get(1).mContentHash = 7;
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3), newLineup);
+        assertTrue(result.isChannelListChanged());
+        assertEquals(0, result.getChangedEventListsCount());
+        assertEquals(1, result.getChangedEventRangesCount());
+        assertRange(result.getChangedEventRange(0), 0, 1, 1);
+    }
+
+    public void testEventWidthChanged() {
+        final Lineup newLineup = lineup(1, 2, 3);
+        newLineup.channel(2).mEvents.get(0).mWidth = 45;
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3), newLineup);
+        assertFalse(result.isChannelListChanged());
+        assertEquals(1, result.getChangedEventListsCount());
+        assertEquals(1, result.getChangedEventList(0));
+        // Content of events is the same, only layout is changed
+        assertEquals(0, result.getChangedEventRangesCount());
+    }
+
+    public void testEventContentChangedBecomesRange() {
+        final Lineup newLineup = lineup(1, 2, 3);
+        newLineup.channel(2).mEvents.get(1).mContentHash = 7;
+        newLineup.channel(2).mEvents.get(2).mContentHash = 8;
+        newLineup.channel(2).mEvents.get(4).mContentHash = 9;
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3), newLineup);
+        assertFalse(result.isChannelListChanged());
+        assertEquals(0, result.getChangedEventListsCount());
+        assertEquals(2, result.getChangedEventRangesCount());
+        assertRange(result.getChangedEventRange(0), 1, 1, 2);
+        assertRange(result.getChangedEventRange(1), 1, 4, 1);
+    }
+
+    public void testChannelRenamedBecomesRange() {
+        final Lineup newLineup = lineup(1, 2, 3, 4);
+        newLineup.channel(2).mContentHash = 7;
+        newLineup.channel(3).mContentHash = 8;
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2, 3, 4), newLineup);
+        assertFalse(result.isChannelListChanged());
+        assertEquals(1, result.getChangedChannelRangesCount());
+        assertRange(result.getChangedChannelRange(0), 1, 2);
+        assertEquals(0, result.getChangedEventListsCount());
+        assertEquals(0, result.getChangedEventRangesCount());
+    }
+
+    public void testStartTimeChanged() {
+        final Lineup newLineup = lineup(1, 2);
+        newLineup.mStartTime += 60000;
+        final GuideDiff.Result result = GuideDiff.calculate(lineup(1, 2), newLineup);
+        assertTrue(result.isStartOrEndTimeChanged());
+        assertFalse(result.isEmpty());
+    }
+
+    private static void assertRange(int[] range, int... expected) {
+        assertEquals(expected.length, range.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Element " + i, expected[i], range[i]);
+        }
+    }
+
+    /**
+     * @return Lineup of channels with desired ids, every channel has six one hour events
+     */
+    private static Lineup lineup(long... channelIds) {
+        final Lineup lineup = new Lineup();
+        Channel channel;
+        for (long channelId : channelIds) {
+            channel = new Channel(channelId);
+            for (int j = 0; j < 6; j++) {
+                channel.mEvents.add(new Event(channelId * 100 + j));
+            }
+            lineup.mChannels.add(channel);
+        }
+        return lineup;
+    }
+
+    private static class Event {
+        final long mId;
+        int mWidth = 60;
+        long mContentHash;
+
+        Event(long id) {
+            mId = id;
+            mContentHash = id;
+        }
+    }
+
+    private static class Channel {
+        final long mId;
+        long mContentHash;
+        final ArrayList<Event> mEvents = new ArrayList<Event>();
+
+        Channel(long id) {
+            mId = id;
+            mContentHash = id;
+        }
+    }
+
+    private static class Lineup implements GuideSnapshot {
+        long mStartTime = 0;
+        final ArrayList<Channel> mChannels = new ArrayList<Channel>();
+
+        Channel channel(long id) {
+            for (Channel channel : mChannels) {
+                if (channel.mId == id) {
+                    return channel;
+                }
+            }
+            throw new IllegalArgumentException("No channel " + id);
+        }
+
+        @Override
+        public long getStartTime() {
+            return mStartTime;
+        }
+
+        @Override
+        public long getEndTime() {
+            return mStartTime + 6 * 60 * 60000;
+        }
+
+        @Override
+        public int getChannelsCount() {
+            return mChannels.size();
+        }
+
+        @Override
+        public long getChannelId(int channel) {
+            return mChannels.get(channel).mId;
+        }
+
+        @Override
+        public long getChannelContentHash(int channel) {
+            return mChannels.get(channel).mContentHash;
+        }
+
+        @Override
+        public int getEventsCount(int channel) {
+            return mChannels.get(channel).mEvents.size();
+        }
+
+        @Override
+        public long getEventId(int channel, int event) {
+            return mChannels.get(channel).mEvents.get(event).mId;
+        }
+
+        @Override
+        public int getEventWidth(int channel, int event) {
+            return mChannels.get(channel).mEvents.get(event).mWidth;
+        }
+
+        @Override
+        public long getEventContentHash(int channel, int event) {
+            return mChannels.get(channel).mEvents.get(event).mContentHash;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.epg;
+
+import junit.framework.TestCase;
+
+import java.util.List;
+
+/**
+ * Replays key scripts against navigation rules of guide in {@link GuideNavigation}. Test uses only plain Java classes,
+ * so besides instrumentation it runs on JVM with junit on class path, for example
+ * <pre>
+ * java -cp junit.jar:bin/classes:tests/bin/classes junit.textui.TestRunner com.epg.GuideNavigationReplayTest
+ * </pre>
+ * Navigator below is a model of guide that applies the rules to event offsets, {@link GuideView} itself is not driven
+ * and no layout cost is measured. Layout cost, adapter calls and allocations are measured only by
+ * {@link GuideReplay} on device.
+ */
+public class GuideNavigationReplayTest extends TestCase {
+    private static final int ONE_MINUTE_WIDTH = 4;
+    private static final int EVENTS_AREA_LEFT = 100;
+    private static final int EVENTS_AREA_RIGHT = 1100;
+    private static final int SELECTION_X = 300;
+    private static final int CHANNELS_COUNT = 50;
+
+    public void testLongPressDownReleaseLeftRight() {
+        final StringBuilder script = new StringBuilder();
+        script.append("0 key_down DPAD_DOWN\n");
+        // First repeat is long press and starts fast scroll, every next repeat moves one more channel
+        long time = 500;
+        for (int i = 0; i < 11; i++, time += BaseGuideView.SMOOTH_FAST_SCROLL_DURATION) {
+            script.append(time).append(" key_repeat DPAD_DOWN\n");
+        }
+        // Repeat that comes too soon after previous one is ignored
+        script.append(time - BaseGuideView.SMOOTH_FAST_SCROLL_DURATION + 20).append(" key_repeat DPAD_DOWN\n");
+        script.append(time).append(" key_up DPAD_DOWN\n");
+        final Navigator navigator = new Navigator();
+        navigator.replay(script.toString());
+        // One step of short press and one channel for every accepted repeat
+        assertEquals(12, navigator.mChannel);
+        assertEquals(BaseGuideView.SCROLL_STATE_NORMAL, navigator.mScrollState);
+        // Minute 22 is center of visible part of first event of channel 1, it stays focused during fast scroll
+        assertEquals(0, navigator.mEvent);
+
+        navigator.replay("0 key_down DPAD_RIGHT\n"
+                + "50 key_up DPAD_RIGHT\n"
+                + "500 key_down DPAD_RIGHT\n"
+                + "550 key_up DPAD_RIGHT\n"
+                + "1000 key_down DPAD_LEFT\n"
+                + "1050 key_up DPAD_LEFT\n");
+        assertEquals(12, navigator.mChannel);
+        assertEquals(1, navigator.mEvent);
+        // Selected event is moved to fixed selection
+        assertEquals(40, navigator.mOffsetX);
+
+        navigator.replay("0 key_down DPAD_DOWN\n"
+                + "50 key_up DPAD_DOWN\n");
+        // Visible part of event 60-120 is 300-540, its center is at minute 90 which is event 90-135 of odd channel
+        assertEquals(13, navigator.mChannel);
+        assertEquals(2, navigator.mEvent);
+    }
+
+    public void testFocusedTimeOutsideOfChannelEvents() {
+        final int[] offsets = { 0, 30, 60 };
+        assertEquals(0, GuideNavigation.findEventAtFocusedTime(offsets, -10));
+        assertEquals(1, GuideNavigation.findEventAtFocusedTime(offsets, 45));
+        assertEquals(1, GuideNavigation.findEventAtFocusedTime(offsets, 600));
+        assertEquals(GuideAdapterView.INVALID_POSITION, GuideNavigation.findEventAtFocusedTime(new int[] { 0 }, 10));
+    }
+
+    public void testFocusedXOfEventWiderThanEventsArea() {
+        assertEquals((EVENTS_AREA_LEFT + EVENTS_AREA_RIGHT) / 2, GuideNavigation.getFocusedX(-1000, 5000,
+                EVENTS_AREA_LEFT, EVENTS_AREA_RIGHT, SELECTION_X));
+        // Event that is not visible keeps time under fixed selection
+        assertEquals(SELECTION_X, GuideNavigation.getFocusedX(2000, 3000, EVENTS_AREA_LEFT, EVENTS_AREA_RIGHT,
+                SELECTION_X));
+    }
+
+    /**
+     * Guide with fixed selection in full mode. Even channels have one hour events and odd channels 45 minutes events.
+     * Smooth scrolls finish before next key event.
+     */
+    private static class Navigator {
+        final GuideNavigation mNavigation = new GuideNavigation();
+        int mChannel = 0;
+        int mEvent = GuideAdapterView.INVALID_POSITION;
+        int mFocusedTime = GuideAdapterView.INVALID_POSITION;
+        int mOffsetX = 0;
+        int mScrollState = BaseGuideView.SCROLL_STATE_NORMAL;
+        private int mRepeatCount;
+
+        Navigator() {
+            selectEventAtFocusedTime();
+        }
+
+        static int[] getOffsets(int channel) {
+            final int duration = channel % 2 == 0 ? 60 : 45;
+            final int[] offsets = new int[24 * 60 / duration + 1];
+            for (int i = 1; i < offsets.length; i++) {
+                offsets[i] = offsets[i - 1] + duration;
+            }
+            return offsets;
+        }
+
+        int getEventLeft(int event) {
+            return EVENTS_AREA_LEFT + getOffsets(mChannel)[event] * ONE_MINUTE_WIDTH - mOffsetX;
+        }
+
+        void replay(String script) {
+            final List<GuideReplayScript.Command> commands = new GuideReplayScript(script).getCommands();
+            GuideReplayScript.Command command;
+            for (int i = 0; i < commands.size(); i++) {
+                command = commands.get(i);
+                switch (command.mType) {
+                case GuideReplayScript.COMMAND_KEY_DOWN:
+                    mRepeatCount = 0;
+                    keyDown(command.mKey, false, command.mTimeMs);
+                    break;
+                case GuideReplayScript.COMMAND_KEY_REPEAT:
+                    mRepeatCount++;
+                    keyDown(command.mKey, mRepeatCount == 1, command.mTimeMs);
+                    break;
+                case GuideReplayScript.COMMAND_KEY_UP:
+                    keyUp(command.mKey);
+                    break;
+                default:
+                    break;
+                }
+            }
+        }
+
+        void keyDown(String key, boolean longPress, long time) {
+            if ("DPAD_UP".equals(key) || "DPAD_DOWN".equals(key)) {
+                mNavigation.onKeyDown(longPress);
+                final int direction = "DPAD_DOWN".equals(key) ? 1 : -1;
+                switch (mNavigation.getVerticalKeyAction(time, mScrollState)) {
+                case GuideNavigation.ACTION_STEP:
+                    moveChannel(direction);
+                    selectEventAtFocusedTime();
+                    break;
+                case GuideNavigation.ACTION_START_FAST_SCROLL:
+                    mScrollState = BaseGuideView.SCROLL_STATE_FAST_SCROLL;
+                    moveChannel(direction);
+                    break;
+                case GuideNavigation.ACTION_CONTINUE_FAST_SCROLL:
+                    moveChannel(direction);
+                    break;
+                default:
+                    break;
+                }
+            } else if (("DPAD_LEFT".equals(key) || "DPAD_RIGHT".equals(key))
+                    && mScrollState == BaseGuideView.SCROLL_STATE_NORMAL) {
+                final int event = GuideNavigation.getNextEventIndex(mEvent, getOffsets(mChannel).length - 1,
+                        "DPAD_RIGHT".equals(key));
+                if (event != GuideAdapterView.INVALID_POSITION) {
+                    mOffsetX = Math.max(0, mOffsetX + getEventLeft(event) - SELECTION_X);
+                    mEvent = event;
+                }
+            }
+        }
+
+        void keyUp(String key) {
+            final boolean vertical = "DPAD_UP".equals(key) || "DPAD_DOWN".equals(key);
+            if (mNavigation.onKeyUp(vertical, mScrollState) == GuideNavigation.ACTION_END_FAST_SCROLL) {
+                mScrollState = BaseGuideView.SCROLL_STATE_NORMAL;
+                selectEventAtFocusedTime();
+            }
+        }
+
+        /**
+         * Selected event is left, its visible part keeps focused time
+         */
+        void moveChannel(int direction) {
+            if (mEvent != GuideAdapterView.INVALID_POSITION) {
+                final int left = getEventLeft(mEvent);
+                final int right = getEventLeft(mEvent + 1);
+                mFocusedTime = GuideNavigation.getTimeAtX(GuideNavigation.getFocusedX(left, right, EVENTS_AREA_LEFT,
+                        EVENTS_AREA_RIGHT, SELECTION_X), EVENTS_AREA_LEFT, mOffsetX, ONE_MINUTE_WIDTH);
+                mEvent = GuideAdapterView.INVALID_POSITION;
+            }
+            mChannel = Math.max(0, Math.min(CHANNELS_COUNT - 1, mChannel + direction));
+        }
+
+        void selectEventAtFocusedTime() {
+            final int time = mFocusedTime != GuideAdapterView.INVALID_POSITION ? mFocusedTime
+                    : GuideNavigation.getTimeAtX(SELECTION_X, EVENTS_AREA_LEFT, mOffsetX, ONE_MINUTE_WIDTH);
+            mEvent = GuideNavigation.findEventAtFocusedTime(getOffsets(mChannel), time);
+            if (mEvent != GuideAdapterView.INVALID_POSITION) {
+                mFocusedTime = GuideAdapterView.INVALID_POSITION;
+            }
+        }
+    }
+}
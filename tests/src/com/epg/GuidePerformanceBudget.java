@@ -0,0 +1,187 @@
+package com.epg;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Performance budgets of benchmark scenarios, loaded from baseline file. Baseline is properties file with keys in
+ * form scenario.budget, budgets that are not set are not checked.
+ * <pre>
+ * vertical_steps.maxAdapterCalls=2500
+ * vertical_steps.maxViewsCreated=150
+ * vertical_steps.maxAllocationsPerFrame=400
+ * vertical_steps.maxLayoutTimeUs=4000
+ * </pre>
+ * Baseline of the project is in tests/assets/guide_performance_budget.properties. It is recorded with
+ * {@link #record} on reference device named in baseline, time budgets are meaningful only on that device. Baseline
+ * should be recorded again together with changes that are expected to change performance.
+ */
+public class GuidePerformanceBudget {
+    /**
+     * Name of baseline file in assets of test project
+     */
+    public static final String BASELINE_ASSET = "guide_performance_budget.properties";
+
+    /**
+     * Maximum number of created and rebound views in whole scenario
+     */
+    public static final String MAX_ADAPTER_CALLS = "maxAdapterCalls";
+    /**
+     * Maximum number of views created by adapter in whole scenario
+     */
+    public static final String MAX_VIEWS_CREATED = "maxViewsCreated";
+    /**
+     * Maximum number of allocations in one frame
+     */
+    public static final String MAX_ALLOCATIONS_PER_FRAME = "maxAllocationsPerFrame";
+    /**
+     * Maximum layout time of one frame in microseconds
+     */
+    public static final String MAX_LAYOUT_TIME_US = "maxLayoutTimeUs";
+    /**
+     * Key of device on which baseline was recorded
+     */
+    public static final String REFERENCE_DEVICE = "referenceDevice";
+
+    /**
+     * Headroom added to recorded values, in percents. Layout time varies between runs more than counts.
+     */
+    private static final int COUNT_HEADROOM_PERCENT = 10;
+    private static final int TIME_HEADROOM_PERCENT = 50;
+
+    private final Properties mBudgets;
+
+    /**
+     * Create empty budgets, used for recording new baseline
+     */
+    public GuidePerformanceBudget() {
+        this(new Properties());
+    }
+
+    private GuidePerformanceBudget(Properties budgets) {
+        mBudgets = budgets;
+    }
+
+    /**
+     * Load budgets from baseline file
+     *
+     * @param inputStream Stream of baseline file, it is not closed
+     */
+    public static GuidePerformanceBudget load(InputStream inputStream) throws IOException {
+        final Properties budgets = new Properties();
+        budgets.load(inputStream);
+        return new GuidePerformanceBudget(budgets);
+    }
+
+    /**
+     * @return Budget of desired scenario, or -1 if budget is not set
+     */
+    public long getBudget(String scenario, String budget) {
+        final String value = mBudgets.getProperty(scenario + "." + budget);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid budget " + scenario + "." + budget + "=" + value);
+        }
+    }
+
+    /**
+     * @return TRUE if any budget of desired scenario is set
+     */
+    public boolean hasBudgets(String scenario) {
+        return getBudget(scenario, MAX_ADAPTER_CALLS) >= 0 || getBudget(scenario, MAX_VIEWS_CREATED) >= 0
+                || getBudget(scenario, MAX_ALLOCATIONS_PER_FRAME) >= 0 || getBudget(scenario, MAX_LAYOUT_TIME_US) >= 0;
+    }
+
+    /**
+     * @return Device on which baseline was recorded, or NULL if it is not set
+     */
+    public String getReferenceDevice() {
+        return mBudgets.getProperty(REFERENCE_DEVICE);
+    }
+
+    public void setReferenceDevice(String device) {
+        mBudgets.setProperty(REFERENCE_DEVICE, device);
+    }
+
+    /**
+     * Check result of scenario against its budgets
+     *
+     * @param scenario Name of scenario
+     * @param result   Result of replayed scenario
+     * @return Description of every exceeded budget, empty list if result is within budgets
+     */
+    public List<String> check(String scenario, GuideReplay.Result result) {
+        return check(scenario, result, true);
+    }
+
+    /**
+     * Check result of scenario against its budgets
+     *
+     * @param scenario   Name of scenario
+     * @param result     Result of replayed scenario
+     * @param checkTimes FALSE if time budgets are not checked, for example on device that is not reference device
+     * @return Description of every exceeded budget, empty list if result is within budgets
+     */
+    public List<String> check(String scenario, GuideReplay.Result result, boolean checkTimes) {
+        final List<String> violations = new ArrayList<String>();
+        check(violations, scenario, MAX_ADAPTER_CALLS, result.getTotalAdapterCalls());
+        check(violations, scenario, MAX_VIEWS_CREATED, result.getTotalViewsCreated());
+        check(violations, scenario, MAX_ALLOCATIONS_PER_FRAME, result.getMaxAllocations());
+        if (checkTimes) {
+            check(violations, scenario, MAX_LAYOUT_TIME_US, result.getMaxLayoutTimeNs() / 1000);
+        }
+        return violations;
+    }
+
+    /**
+     * Set budgets of scenario from measured result, headroom is added to every value
+     *
+     * @param scenario Name of scenario
+     * @param result   Result of scenario replayed on reference device
+     */
+    public void record(String scenario, GuideReplay.Result result) {
+        record(scenario, MAX_ADAPTER_CALLS, result.getTotalAdapterCalls(), COUNT_HEADROOM_PERCENT);
+        record(scenario, MAX_VIEWS_CREATED, result.getTotalViewsCreated(), COUNT_HEADROOM_PERCENT);
+        record(scenario, MAX_ALLOCATIONS_PER_FRAME, result.getMaxAllocations(), COUNT_HEADROOM_PERCENT);
+        record(scenario, MAX_LAYOUT_TIME_US, result.getMaxLayoutTimeNs() / 1000, TIME_HEADROOM_PERCENT);
+    }
+
+    private void record(String scenario, String budget, long value, int headroomPercent) {
+        mBudgets.setProperty(scenario + "." + budget, Long.toString(value + value * headroomPercent / 100));
+    }
+
+    /**
+     * Write budgets in format of baseline file, keys are sorted so baselines can be compared
+     *
+     * @param outputStream Stream to write to, it is not closed
+     * @param comment      Comment written at the beginning, can be NULL
+     */
+    public void store(OutputStream outputStream, String comment) throws IOException {
+        final Writer writer = new OutputStreamWriter(outputStream, "ISO-8859-1");
+        if (comment != null) {
+            writer.write("# " + comment.replace("\n", "\n# ") + "\n");
+        }
+        for (String key : new TreeSet<String>(mBudgets.stringPropertyNames())) {
+            writer.write(key + "=" + mBudgets.getProperty(key) + "\n");
+        }
+        writer.flush();
+    }
+
+    private void check(List<String> violations, String scenario, String budget, long value) {
+        final long max = getBudget(scenario, budget);
+        if (max >= 0 && value > max) {
+            violations.add(scenario + "." + budget + " exceeded, " + value + " > " + max);
+        }
+    }
+}
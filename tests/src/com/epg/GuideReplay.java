@@ -0,0 +1,525 @@
+package com.epg;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays recorded script of key, touch and time events against guide with fake clock and fake vsync. Frames are
+ * produced only by replay at fixed interval, so the same script results in the same sequence of frames and per frame
+ * layout cost, adapter calls and allocations can be compared between runs. Replay must be run on UI thread, for
+ * example from instrumentation test.
+ * <p/>
+ * Script contains one command per line, first value is time in milliseconds from start of replay. Empty lines and
+ * lines starting with # are ignored.
+ * <pre>
+ * 0    key_down DPAD_DOWN
+ * 500  key_repeat DPAD_DOWN
+ * 800  key_up DPAD_DOWN
+ * 1000 touch_down 300 200
+ * 1100 touch_move 200 200
+ * 1150 touch_up 200 200
+ * 3000 wait
+ * </pre>
+ * First key repeat is marked as long press. Animation of guide is run with replay time. Messages posted to guide
+ * handler and fling, which uses system animation time, are not under control of replay. Prefetch uses real time
+ * left in replayed frame, so number of prefetched views depends on speed of device.
+ */
+public class GuideReplay {
+    public static final long DEFAULT_FRAME_INTERVAL_NS = 16666667L;
+    /**
+     * Maximum time frames are produced after last command while guide still has pending frame callbacks
+     */
+    private static final long MAX_SETTLE_TIME_NS = TimeUnit.SECONDS.toNanos(10);
+
+    private final BaseGuideView mGuideView;
+    private final List<GuideReplayScript.Command> mCommands;
+    /**
+     * Key codes of key commands, indexes are the same as in commands
+     */
+    private final int[] mKeyCodes;
+    private long mFrameIntervalNs = DEFAULT_FRAME_INTERVAL_NS;
+    private long mStartTimeMillis = 0;
+
+    private final ReplayFrameScheduler mFrameScheduler = new ReplayFrameScheduler();
+    private final Transformation mTransformation = new Transformation();
+    private long mBaseTimeMs;
+    private long mKeyDownTime;
+    private int mKeyRepeatCount;
+    private long mTouchDownTime;
+
+    /**
+     * Values of current frame, filled by metrics listener
+     */
+    private long mFrameLayoutTimeNs;
+    private long mFrameAdapterTimeNs;
+    private int mFrameAdapterCalls;
+    private int mFrameViewsCreated;
+
+    /**
+     * @param guideView Guide to replay script against, must have adapter
+     * @param script    Script to replay
+     * @throws IllegalArgumentException If script contains invalid command
+     */
+    public GuideReplay(BaseGuideView guideView, String script) {
+        mGuideView = guideView;
+        mCommands = new GuideReplayScript(script).getCommands();
+        mKeyCodes = new int[mCommands.size()];
+        GuideReplayScript.Command command;
+        for (int i = 0; i < mCommands.size(); i++) {
+            command = mCommands.get(i);
+            if (command.mKey != null) {
+                try {
+                    mKeyCodes[i] = parseKeyCode(command.mKey);
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid key at line " + command.mLine + ": " + command.mKey);
+                }
+            }
+        }
+    }
+
+    private static int parseKeyCode(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            final String name = value.toUpperCase(Locale.US);
+            final int keyCode = KeyEvent.keyCodeFromString(name.startsWith("KEYCODE_") ? name : "KEYCODE_" + name);
+            if (keyCode == KeyEvent.KEYCODE_UNKNOWN) {
+                throw new NumberFormatException(value);
+            }
+            return keyCode;
+        }
+    }
+
+    public long getFrameIntervalNs() {
+        return mFrameIntervalNs;
+    }
+
+    /**
+     * @param frameIntervalNs Time between two replayed frames
+     */
+    public void setFrameIntervalNs(long frameIntervalNs) {
+        mFrameIntervalNs = frameIntervalNs;
+    }
+
+    public long getStartTimeMillis() {
+        return mStartTimeMillis;
+    }
+
+    /**
+     * @param startTimeMillis Time returned by guide clock at start of replay, 0 for start time of adapter
+     */
+    public void setStartTimeMillis(long startTimeMillis) {
+        mStartTimeMillis = startTimeMillis;
+    }
+
+    /**
+     * Replay script. Guide is laid out with desired size and drawn into offscreen bitmap after every frame. Clock,
+     * frame scheduler and metrics of guide are replaced during replay and restored after it, collected metrics are
+     * reset.
+     *
+     * @param width  Width of guide
+     * @param height Height of guide
+     * @return Values of every replayed frame
+     */
+    public Result run(int width, int height) {
+        final BaseGuideAdapter adapter = mGuideView.getAdapter();
+        if (adapter == null) {
+            throw new IllegalStateException("Guide has no adapter");
+        }
+        final GuideClock oldClock = mGuideView.getClock();
+        final GuideFrameScheduler oldFrameScheduler = mGuideView.getFrameScheduler();
+        final GuideMetrics metrics = mGuideView.getMetrics();
+        final boolean oldMetricsEnabled = metrics.isEnabled();
+        final GuideMetrics.OnFrameMetricsListener oldListener = metrics.getOnFrameMetricsListener();
+
+        mBaseTimeMs = SystemClock.uptimeMillis();
+        final long baseTimeNs = TimeUnit.MILLISECONDS.toNanos(mBaseTimeMs);
+        final long startTimeMillis = mStartTimeMillis != 0 ? mStartTimeMillis
+                : adapter.getStartTime().getTimeInMillis();
+        final Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        final Canvas canvas = new Canvas(bitmap);
+        final Result result = new Result(mFrameIntervalNs);
+        try {
+            mFrameScheduler.setScriptedTimeNs(baseTimeNs);
+            mGuideView.setFrameScheduler(mFrameScheduler);
+            mGuideView.setClock(new GuideClock() {
+                @Override
+                public long currentTimeMillis() {
+                    return startTimeMillis + TimeUnit.NANOSECONDS.toMillis(mFrameScheduler.getScriptedTimeNs()
+                            - baseTimeNs);
+                }
+            });
+            metrics.reset();
+            metrics.setEnabled(true);
+            metrics.setOnFrameMetricsListener(new GuideMetrics.OnFrameMetricsListener() {
+                @Override
+                public void onFrameMetrics(GuideMetrics metrics) {
+                    mFrameLayoutTimeNs = metrics.getFrameTimeNs(GuideMetrics.TIME_CALCULATE_ROW_POSITIONS)
+                            + metrics.getFrameTimeNs(GuideMetrics.TIME_LAYOUT_EVENTS)
+                            + metrics.getFrameTimeNs(GuideMetrics.TIME_LAYOUT_CHANNEL_INDICATORS);
+                    mFrameAdapterTimeNs = metrics.getFrameTimeNs(GuideMetrics.TIME_ADAPTER_GET_VIEW);
+                    mFrameViewsCreated = metrics.getFrameCount(GuideMetrics.COUNT_VIEWS_CREATED);
+                    mFrameAdapterCalls = mFrameViewsCreated + metrics.getFrameCount(GuideMetrics.COUNT_VIEWS_REBOUND);
+                }
+            });
+            Debug.startAllocCounting();
+            mGuideView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+            mGuideView.layout(0, 0, width, height);
+
+            final long endTimeNs = mCommands.isEmpty() ? baseTimeNs
+                    : baseTimeNs + TimeUnit.MILLISECONDS.toNanos(mCommands.get(mCommands.size() - 1).mTimeMs);
+            long frameTimeNs = baseTimeNs;
+            long commandTimeNs;
+            int next = 0;
+            int allocCount;
+            long startNs;
+            while (frameTimeNs <= endTimeNs
+                    || (mFrameScheduler.hasCallbacks() && frameTimeNs <= endTimeNs + MAX_SETTLE_TIME_NS)) {
+                allocCount = Debug.getThreadAllocCount();
+                startNs = System.nanoTime();
+                // Commands that happened since previous frame are dispatched at their own time
+                while (next < mCommands.size()) {
+                    commandTimeNs = baseTimeNs + TimeUnit.MILLISECONDS.toNanos(mCommands.get(next).mTimeMs);
+                    if (commandTimeNs > frameTimeNs) {
+                        break;
+                    }
+                    mFrameScheduler.setScriptedTimeNs(commandTimeNs);
+                    dispatch(mCommands.get(next), mKeyCodes[next]);
+                    next++;
+                }
+                mFrameScheduler.setScriptedTimeNs(frameTimeNs);
+                runFrame(frameTimeNs, width, height, canvas);
+                result.addFrame(TimeUnit.NANOSECONDS.toMillis(frameTimeNs - baseTimeNs),
+                        System.nanoTime() - startNs, mFrameLayoutTimeNs, mFrameAdapterTimeNs, mFrameAdapterCalls,
+                        mFrameViewsCreated, Debug.getThreadAllocCount() - allocCount);
+                frameTimeNs += mFrameIntervalNs;
+            }
+        } finally {
+            Debug.stopAllocCounting();
+            metrics.setOnFrameMetricsListener(oldListener);
+            metrics.setEnabled(oldMetricsEnabled);
+            mGuideView.setFrameScheduler(oldFrameScheduler);
+            mGuideView.setClock(oldClock);
+            mFrameScheduler.clear();
+            bitmap.recycle();
+        }
+        return result;
+    }
+
+    private void runFrame(long frameTimeNs, int width, int height, Canvas canvas) {
+        mFrameLayoutTimeNs = 0;
+        mFrameAdapterTimeNs = 0;
+        mFrameAdapterCalls = 0;
+        mFrameViewsCreated = 0;
+        mFrameScheduler.doFrame(frameTimeNs);
+        mGuideView.computeScroll();
+        // Animation of guide is normally run by its parent, here it is run with replay time
+        final Animation animation = mGuideView.getAnimation();
+        if (animation != null) {
+            if (!animation.isInitialized()) {
+                animation.initialize(width, height, width, height);
+            }
+            mTransformation.clear();
+            animation.getTransformation(TimeUnit.NANOSECONDS.toMillis(frameTimeNs), mTransformation);
+            if (animation.hasEnded()) {
+                mGuideView.clearAnimation();
+            }
+        }
+        if (mGuideView.isLayoutRequested()) {
+            mGuideView.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                    View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+            mGuideView.layout(0, 0, width, height);
+        }
+        mGuideView.draw(canvas);
+        mFrameScheduler.runAfterFrame();
+    }
+
+    private void dispatch(GuideReplayScript.Command command, int keyCode) {
+        final long eventTime = mBaseTimeMs + command.mTimeMs;
+        switch (command.mType) {
+        case GuideReplayScript.COMMAND_KEY_DOWN:
+            mKeyDownTime = eventTime;
+            mKeyRepeatCount = 0;
+            mGuideView.dispatchKeyEvent(new KeyEvent(mKeyDownTime, eventTime, KeyEvent.ACTION_DOWN,
+                    keyCode, 0));
+            break;
+        case GuideReplayScript.COMMAND_KEY_REPEAT:
+            mKeyRepeatCount++;
+            mGuideView.dispatchKeyEvent(new KeyEvent(mKeyDownTime, eventTime, KeyEvent.ACTION_DOWN,
+                    keyCode, mKeyRepeatCount, 0, 0, 0, mKeyRepeatCount == 1 ? KeyEvent.FLAG_LONG_PRESS : 0));
+            break;
+        case GuideReplayScript.COMMAND_KEY_UP:
+            mGuideView.dispatchKeyEvent(new KeyEvent(mKeyDownTime, eventTime, KeyEvent.ACTION_UP, keyCode,
+                    0));
+            break;
+        case GuideReplayScript.COMMAND_TOUCH_DOWN:
+        case GuideReplayScript.COMMAND_TOUCH_MOVE:
+        case GuideReplayScript.COMMAND_TOUCH_UP:
+            if (command.mType == GuideReplayScript.COMMAND_TOUCH_DOWN) {
+                mTouchDownTime = eventTime;
+            }
+            final int action = command.mType == GuideReplayScript.COMMAND_TOUCH_DOWN ? MotionEvent.ACTION_DOWN
+                    : command.mType == GuideReplayScript.COMMAND_TOUCH_MOVE ? MotionEvent.ACTION_MOVE
+                    : MotionEvent.ACTION_UP;
+            final MotionEvent event = MotionEvent.obtain(mTouchDownTime, eventTime, action, command.mX,
+                    command.mY, 0);
+            mGuideView.dispatchTouchEvent(event);
+            event.recycle();
+            break;
+        case GuideReplayScript.COMMAND_WAIT:
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Frame scheduler whose frames are produced by replay. Frames start at scripted times, but time inside of frame
+     * advances with real time, so prefetch runs out of frame time the same way as with Choreographer.
+     */
+    private static class ReplayFrameScheduler implements GuideFrameScheduler {
+        private final ArrayList<Choreographer.FrameCallback> mCallbacks = new ArrayList<Choreographer.FrameCallback>();
+        private final ArrayList<Runnable> mAfterFrameRunnables = new ArrayList<Runnable>();
+        /**
+         * Scripted time of current frame or command, and real time at which it was set
+         */
+        private long mScriptedTimeNs;
+        private long mScriptedTimeSetNs;
+
+        long getScriptedTimeNs() {
+            return mScriptedTimeNs;
+        }
+
+        void setScriptedTimeNs(long scriptedTimeNs) {
+            mScriptedTimeNs = scriptedTimeNs;
+            mScriptedTimeSetNs = System.nanoTime();
+        }
+
+        @Override
+        public void postFrameCallback(Choreographer.FrameCallback callback) {
+            mCallbacks.add(callback);
+        }
+
+        @Override
+        public void removeFrameCallback(Choreographer.FrameCallback callback) {
+            while (mCallbacks.remove(callback)) {
+            }
+        }
+
+        @Override
+        public void postAfterFrame(View view, Runnable runnable) {
+            mAfterFrameRunnables.add(runnable);
+        }
+
+        @Override
+        public void removeAfterFrame(View view, Runnable runnable) {
+            while (mAfterFrameRunnables.remove(runnable)) {
+            }
+        }
+
+        @Override
+        public long nanoTime() {
+            return mScriptedTimeNs + System.nanoTime() - mScriptedTimeSetNs;
+        }
+
+        boolean hasCallbacks() {
+            return !mCallbacks.isEmpty() || !mAfterFrameRunnables.isEmpty();
+        }
+
+        /**
+         * Run callbacks posted before this frame, callbacks posted during the frame run in the next one
+         */
+        void doFrame(long frameTimeNs) {
+            final ArrayList<Choreographer.FrameCallback> callbacks =
+                    new ArrayList<Choreographer.FrameCallback>(mCallbacks);
+            mCallbacks.clear();
+            for (int i = 0; i < callbacks.size(); i++) {
+                callbacks.get(i).doFrame(frameTimeNs);
+            }
+        }
+
+        void runAfterFrame() {
+            final ArrayList<Runnable> runnables = new ArrayList<Runnable>(mAfterFrameRunnables);
+            mAfterFrameRunnables.clear();
+            for (int i = 0; i < runnables.size(); i++) {
+                runnables.get(i).run();
+            }
+        }
+
+        void clear() {
+            mCallbacks.clear();
+            mAfterFrameRunnables.clear();
+        }
+    }
+
+    /**
+     * Values of replayed frames. Frame times are real, counts are the same for every run of the same script on the
+     * same guide except for views created ahead by prefetch. Allocations are counted only where runtime supports
+     * allocation counting.
+     */
+    public static class Result {
+        private final long mFrameIntervalNs;
+        /**
+         * Frame values as time from start in ms, frame time, layout time, adapter time, adapter calls, created views
+         * and allocations
+         */
+        private final ArrayList<long[]> mFrames = new ArrayList<long[]>();
+
+        Result(long frameIntervalNs) {
+            mFrameIntervalNs = frameIntervalNs;
+        }
+
+        void addFrame(long timeMs, long frameTimeNs, long layoutTimeNs, long adapterTimeNs, int adapterCalls,
+                int viewsCreated, int allocations) {
+            mFrames.add(new long[] { timeMs, frameTimeNs, layoutTimeNs, adapterTimeNs, adapterCalls, viewsCreated,
+                    allocations });
+        }
+
+        public int getFramesCount() {
+            return mFrames.size();
+        }
+
+        /**
+         * @return Time of frame in milliseconds from start of replay
+         */
+        public long getFrameStartMs(int frame) {
+            return mFrames.get(frame)[0];
+        }
+
+        /**
+         * @return Time needed to dispatch input, lay out and draw frame
+         */
+        public long getFrameTimeNs(int frame) {
+            return mFrames.get(frame)[1];
+        }
+
+        /**
+         * @return Time spent in calculating row positions and laying out events and channel indicators
+         */
+        public long getLayoutTimeNs(int frame) {
+            return mFrames.get(frame)[2];
+        }
+
+        /**
+         * @return Time spent in adapter getView calls
+         */
+        public long getAdapterTimeNs(int frame) {
+            return mFrames.get(frame)[3];
+        }
+
+        /**
+         * @return Number of created and rebound views
+         */
+        public int getAdapterCalls(int frame) {
+            return (int) mFrames.get(frame)[4];
+        }
+
+        /**
+         * @return Number of views created by adapter
+         */
+        public int getViewsCreated(int frame) {
+            return (int) mFrames.get(frame)[5];
+        }
+
+        public int getAllocations(int frame) {
+            return (int) mFrames.get(frame)[6];
+        }
+
+        /**
+         * @return Number of frames that took longer than frame interval
+         */
+        public int getJankyFramesCount() {
+            int count = 0;
+            for (int i = 0; i < mFrames.size(); i++) {
+                if (mFrames.get(i)[1] > mFrameIntervalNs) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        public int getTotalAdapterCalls() {
+            int count = 0;
+            for (int i = 0; i < mFrames.size(); i++) {
+                count += mFrames.get(i)[4];
+            }
+            return count;
+        }
+
+        public int getTotalViewsCreated() {
+            int count = 0;
+            for (int i = 0; i < mFrames.size(); i++) {
+                count += mFrames.get(i)[5];
+            }
+            return count;
+        }
+
+        public int getTotalAllocations() {
+            int count = 0;
+            for (int i = 0; i < mFrames.size(); i++) {
+                count += mFrames.get(i)[6];
+            }
+            return count;
+        }
+
+        /**
+         * @return Largest number of allocations in one frame
+         */
+        public int getMaxAllocations() {
+            int max = 0;
+            for (int i = 0; i < mFrames.size(); i++) {
+                max = Math.max(max, (int) mFrames.get(i)[6]);
+            }
+            return max;
+        }
+
+        /**
+         * @return Longest layout time of one frame
+         */
+        public long getMaxLayoutTimeNs() {
+            long max = 0;
+            for (int i = 0; i < mFrames.size(); i++) {
+                max = Math.max(max, mFrames.get(i)[2]);
+            }
+            return max;
+        }
+
+        /**
+         * @return One line per frame with time in ms, frame, layout and adapter time in us, adapter calls, created
+         * views and allocations
+         */
+        public String dump() {
+            final StringBuilder builder = new StringBuilder();
+            builder.append("frames=").append(mFrames.size()).append(" janky=").append(getJankyFramesCount())
+                    .append(" adapterCalls=").append(getTotalAdapterCalls()).append(" allocations=")
+                    .append(getTotalAllocations()).append('\n');
+            long[] frame;
+            for (int i = 0; i < mFrames.size(); i++) {
+                frame = mFrames.get(i);
+                builder.append(frame[0]).append(' ').append(frame[1] / 1000).append(' ').append(frame[2] / 1000)
+                        .append(' ').append(frame[3] / 1000).append(' ').append(frame[4]).append(' ')
+                        .append(frame[5]).append(' ').append(frame[6]).append('\n');
+            }
+            return builder.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "GuideReplay.Result [frames=" + mFrames.size() + ", janky=" + getJankyFramesCount()
+                    + ", adapterCalls=" + getTotalAdapterCalls() + ", allocations=" + getTotalAllocations() + "]";
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.epg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parsed script of {@link GuideReplay}. Parsing uses only plain Java, so the same script can be replayed against guide
+ * on device and against navigation rules in JVM tests.
+ */
+class GuideReplayScript {
+    static final int COMMAND_KEY_DOWN = 0;
+    static final int COMMAND_KEY_REPEAT = 1;
+    static final int COMMAND_KEY_UP = 2;
+    static final int COMMAND_TOUCH_DOWN = 3;
+    static final int COMMAND_TOUCH_MOVE = 4;
+    static final int COMMAND_TOUCH_UP = 5;
+    static final int COMMAND_WAIT = 6;
+
+    private final ArrayList<Command> mCommands = new ArrayList<Command>();
+
+    /**
+     * @param script Script to parse
+     * @throws IllegalArgumentException If script contains invalid command
+     */
+    GuideReplayScript(String script) {
+        final String[] lines = script.split("\n");
+        String line;
+        String[] parts;
+        Command command;
+        long lastTimeMs = 0;
+        for (int i = 0; i < lines.length; i++) {
+            line = lines[i].trim();
+            if (line.length() == 0 || line.startsWith("#")) {
+                continue;
+            }
+            parts = line.split("\\s+");
+            try {
+                command = new Command(i + 1);
+                command.mTimeMs = Long.parseLong(parts[0]);
+                final String name = parts[1].toLowerCase(Locale.US);
+                if ("key_down".equals(name) || "key_repeat".equals(name) || "key_up".equals(name)) {
+                    command.mType = "key_down".equals(name) ? COMMAND_KEY_DOWN
+                            : "key_repeat".equals(name) ? COMMAND_KEY_REPEAT : COMMAND_KEY_UP;
+                    command.mKey = parts[2].toUpperCase(Locale.US);
+                } else if ("touch_down".equals(name) || "touch_move".equals(name) || "touch_up".equals(name)) {
+                    command.mType = "touch_down".equals(name) ? COMMAND_TOUCH_DOWN
+                            : "touch_move".equals(name) ? COMMAND_TOUCH_MOVE : COMMAND_TOUCH_UP;
+                    command.mX = Float.parseFloat(parts[2]);
+                    command.mY = Float.parseFloat(parts[3]);
+                } else if ("wait".equals(name)) {
+                    command.mType = COMMAND_WAIT;
+                } else {
+                    throw new IllegalArgumentException("Unknown command at line " + (i + 1) + ": " + line);
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid value at line " + (i + 1) + ": " + line);
+            } catch (ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Missing value at line " + (i + 1) + ": " + line);
+            }
+            if (command.mTimeMs < lastTimeMs) {
+                throw new IllegalArgumentException("Time goes backwards at line " + (i + 1) + ": " + line);
+            }
+            lastTimeMs = command.mTimeMs;
+            mCommands.add(command);
+        }
+    }
+
+    List<Command> getCommands() {
+        return mCommands;
+    }
+
+    static class Command {
+        /**
+         * Line of script, used in error messages
+         */
+        final int mLine;
+        long mTimeMs;
+        int mType;
+        /**
+         * Key name in upper case, for example DPAD_DOWN, or key code
+         */
+        String mKey;
+        float mX, mY;
+
+        Command(int line) {
+            mLine = line;
+        }
+    }
+}